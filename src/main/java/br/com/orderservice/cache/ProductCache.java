@@ -0,0 +1,130 @@
+package br.com.orderservice.cache;
+
+import br.com.orderservice.dto.CacheStatsDTO;
+import br.com.orderservice.dto.ProductDTO;
+import br.com.orderservice.mappers.ProductMapper;
+import br.com.orderservice.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class ProductCache {
+
+    private final LoadingCache<Long, ProductDTO> products;
+
+    private final AtomicLong version = new AtomicLong();
+
+    public ProductCache(ProductRepository productRepository,
+                        ProductMapper productMapper,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${product.cache.ttl-seconds:600}") long ttlSeconds,
+                        @Value("${product.cache.max-size:10000}") long maxSize) {
+        // Misses load in their own read-write transaction so they are served by the primary:
+        // a lagging replica would otherwise re-cache the row we just evicted for the whole TTL.
+        TransactionTemplate primary = new TransactionTemplate(transactionManager);
+        primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public ProductDTO load(Long id) {
+                        return primary.execute(status -> productRepository.findById(id)
+                                .map(productMapper::toProductDTO)
+                                .orElse(null));
+                    }
+
+                    @Override
+                    public Map<Long, ProductDTO> loadAll(Set<? extends Long> ids) {
+                        return primary.execute(status -> productRepository.findAllById(List.copyOf(ids)).stream()
+                                .map(productMapper::toProductDTO)
+                                .collect(Collectors.toMap(ProductDTO::getId, Function.identity())));
+                    }
+                });
+    }
+
+    public Optional<ProductDTO> get(Long id) {
+        return Optional.ofNullable(products.get(id));
+    }
+
+    public Map<Long, ProductDTO> getAll(Collection<Long> ids) {
+        return products.getAll(ids);
+    }
+
+    // A product written inside a transaction is only cached once it commits, so a rollback
+    // never leaves the cache serving a row that does not exist.
+    public void put(ProductDTO product) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(() -> store(product));
+        } else {
+            store(product);
+        }
+    }
+
+    public void evict(Collection<Long> ids) {
+        products.invalidateAll(ids);
+        version.incrementAndGet();
+        afterCommit(() -> {
+            products.invalidateAll(ids);
+            version.incrementAndGet();
+        });
+    }
+
+    public void evictAll() {
+        products.invalidateAll();
+        version.incrementAndGet();
+        afterCommit(() -> {
+            products.invalidateAll();
+            version.incrementAndGet();
+        });
+    }
+
+    private void store(ProductDTO product) {
+        products.put(product.getId(), product);
+        version.incrementAndGet();
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public CacheStatsDTO stats() {
+        CacheStats stats = products.stats();
+        return new CacheStatsDTO(products.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+
+    // Evicting again once the transaction commits stops a concurrent reader from
+    // re-caching the row it read before our uncommitted write became visible.
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
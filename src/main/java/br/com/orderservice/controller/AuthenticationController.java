@@ -4,6 +4,7 @@ import br.com.orderservice.dto.AuthenticationDTO;
 import br.com.orderservice.dto.LoginResponseDTO;
 import br.com.orderservice.dto.RegisterDTO;
 import br.com.orderservice.infra.security.JwtTokenProvider;
+import br.com.orderservice.infra.security.PrincipalCache;
 import br.com.orderservice.model.User;
 import br.com.orderservice.repository.UserRepository;
 import io.swagger.v3.oas.annotations.Operation;
@@ -33,6 +34,9 @@ public class AuthenticationController {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Operation(summary = "Authenticates an user and returns a token")
     @PostMapping("/login")
     public ResponseEntity login(@RequestBody @Valid AuthenticationDTO data) {
@@ -53,6 +57,7 @@ public class AuthenticationController {
         User newUser = new User(data.login(), encryptedPassword, data.role());
 
         this.userRepository.save(newUser);
+        this.principalCache.invalidate(newUser.getLogin());
 
         return ResponseEntity.ok().build();
     }
@@ -1,9 +1,21 @@
 package br.com.orderservice.controller;
 
+import br.com.orderservice.dto.CursorPageDTO;
+import br.com.orderservice.dto.OrderBatchResultDTO;
 import br.com.orderservice.dto.OrderDTO;
 import br.com.orderservice.dto.OrderForStatusDTO;
+import br.com.orderservice.dto.OrderSearchDTO;
+import br.com.orderservice.dto.OrderStatisticsDTO;
+import br.com.orderservice.dto.OrderStatusTransitionDTO;
+import br.com.orderservice.enums.ExportFormat;
+import br.com.orderservice.enums.Status;
+import br.com.orderservice.service.IdempotencyService;
+import br.com.orderservice.service.OrderBatchService;
+import br.com.orderservice.service.OrderExportService;
 import br.com.orderservice.service.OrderService;
+import br.com.orderservice.service.OrderStatisticsService;
 import br.com.orderservice.util.CustomMediaType;
+import br.com.orderservice.util.EntityTags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,20 +25,41 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Date;
+import java.util.List;
 
 @RestController
 @RequestMapping("api/order")
 public class OrderController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     @Autowired
     OrderService orderService;
 
+    @Autowired
+    OrderBatchService orderBatchService;
+
+    @Autowired
+    OrderStatisticsService orderStatisticsService;
+
+    @Autowired
+    OrderExportService orderExportService;
+
+    @Autowired
+    IdempotencyService idempotencyService;
+
     @GetMapping(produces = CustomMediaType.APPLICATION_JSON)
     @Operation(summary = "Lists all orders", description = "Lists all orders",
             tags = {"Order"},
@@ -48,6 +81,102 @@ public class OrderController {
         return orderService.findAllOrders(pageable);
     }
 
+    @GetMapping(value = "/cursor", produces = CustomMediaType.APPLICATION_JSON)
+    @Operation(summary = "Lists orders using a cursor",
+            description = "Lists orders ordered by id, starting after the opaque cursor returned by the previous call. No total count is computed.",
+            tags = {"Order"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(schema = @Schema(implementation = CursorPageDTO.class))
+                    ),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public CursorPageDTO<OrderDTO> listOrdersAfterCursor(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        return orderService.findOrdersAfter(after, Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
+    }
+
+    @GetMapping(value = "/search", produces = CustomMediaType.APPLICATION_JSON)
+    @Operation(summary = "Searches orders", description = "Searches orders by status, creation date window [from, to), client name prefix and phone number, newest first",
+            tags = {"Order"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = OrderDTO.class))
+                                    )
+                            }),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public Slice<OrderDTO> searchOrders(
+            @RequestParam(value = "status", required = false) Status status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @RequestParam(value = "clientName", required = false) String clientName,
+            @RequestParam(value = "phoneNumber", required = false) String phoneNumber,
+            @PageableDefault(size = 10) Pageable pageable) {
+        return orderService.searchOrders(new OrderSearchDTO(status, from, to, clientName, phoneNumber), pageable);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exports orders with their lines",
+            description = "Streams every order matching the status and creation date window [from, to), oldest id first, as NDJSON (one order per line) or CSV (one row per order line)",
+            tags = {"Order"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = {
+                                    @Content(mediaType = "application/x-ndjson"),
+                                    @Content(mediaType = "text/csv")
+                            }),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(value = "status", required = false) Status status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to) {
+
+        OrderSearchDTO search = new OrderSearchDTO(status, from, to, null, null);
+        boolean csv = format == ExportFormat.CSV;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Content-Disposition", "attachment; filename=orders." + (csv ? "csv" : "ndjson"));
+
+        StreamingResponseBody body = out -> orderExportService.export(search, format, out);
+
+        return ResponseEntity
+                .ok()
+                .headers(headers)
+                .contentType(csv ? CustomMediaType.TEXT_CSV : CustomMediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/statistics", produces = CustomMediaType.APPLICATION_JSON)
+    @Operation(summary = "Shows order statistics", description = "Shows orders per status, revenue per day, total revenue and average ticket. Canceled orders are not billed.",
+            tags = {"Order"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(schema = @Schema(implementation = OrderStatisticsDTO.class))
+                    ),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public OrderStatisticsDTO getOrderStatistics() {
+        return orderStatisticsService.snapshot();
+    }
+
     @GetMapping(value = "/{id}",
             produces = CustomMediaType.APPLICATION_JSON)
     @Operation(summary = "Finds a order by id", description = "Finds a order by id",
@@ -57,21 +186,29 @@ public class OrderController {
                             content = @Content(schema = @Schema(implementation = OrderDTO.class))
                     ),
                     @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+                    @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
             }
     )
-    public OrderDTO findOrderById(@PathVariable(value = "id") Long id) {
-        return orderService.findOrderById(id);
+    public ResponseEntity<OrderDTO> findOrderById(@PathVariable(value = "id") Long id, WebRequest request) {
+
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(orderService.findOrderTag(id))) {
+            return null;
+        }
+
+        OrderDTO order = orderService.findOrderById(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(order)).body(order);
     }
 
     @PostMapping(
             consumes = CustomMediaType.APPLICATION_JSON,
             produces = CustomMediaType.APPLICATION_JSON)
     @Operation(summary = "Adds a new order",
-            description = "Adds a new order by passing in a JSON representation of the order!",
+            description = "Adds a new order by passing in a JSON representation of the order! Retries sent with the same Idempotency-Key replay the first response.",
             tags = {"Order"},
             responses = {
                     @ApiResponse(description = "Success", responseCode = "200",
@@ -79,17 +216,42 @@ public class OrderController {
                     ),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Conflict", responseCode = "409", content = @Content),
+                    @ApiResponse(description = "Unprocessable Entity", responseCode = "422", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
             }
     )
-    public ResponseEntity<OrderDTO> createOrder(@Valid @RequestBody OrderDTO order, UriComponentsBuilder uriBuilder) {
+    public ResponseEntity<OrderDTO> createOrder(@Valid @RequestBody OrderDTO order,
+                                                @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                UriComponentsBuilder uriBuilder) {
 
-        OrderDTO orderDTO = orderService.createOrder(order);
-        URI address = uriBuilder.path("api/order/{id}").buildAndExpand(order.getId()).toUri();
+        OrderDTO orderDTO = idempotencyKey == null
+                ? orderService.createOrder(order)
+                : idempotencyService.execute(idempotencyKey, order, () -> orderService.createOrder(order));
+        URI address = uriBuilder.path("api/order/{id}").buildAndExpand(orderDTO.getId()).toUri();
 
         return ResponseEntity.created(address).body(orderDTO);
     }
 
+    @PostMapping(value = "/batch",
+            consumes = CustomMediaType.APPLICATION_JSON,
+            produces = CustomMediaType.APPLICATION_JSON)
+    @Operation(summary = "Adds a batch of orders",
+            description = "Adds many orders at once by passing in a JSON array of orders! Each order is reported as created or failed.",
+            tags = {"Order"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(schema = @Schema(implementation = OrderBatchResultDTO.class))
+                    ),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<OrderBatchResultDTO> createOrders(@RequestBody List<OrderDTO> orders) {
+        return ResponseEntity.ok(orderBatchService.createOrders(orders));
+    }
+
     @PutMapping(value = "/{id}",
             consumes = CustomMediaType.APPLICATION_JSON,
             produces = CustomMediaType.APPLICATION_JSON)
@@ -103,12 +265,15 @@ public class OrderController {
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+                    @ApiResponse(description = "Conflict", responseCode = "409", content = @Content),
+                    @ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
             }
     )
-    public ResponseEntity<OrderDTO> updateOrder(@Valid @RequestBody OrderDTO order, @PathVariable(value = "id") Long id) {
-        OrderDTO updated = orderService.updateOrder(id, order);
-        return ResponseEntity.ok(updated);
+    public ResponseEntity<OrderDTO> updateOrder(@Valid @RequestBody OrderDTO order, @PathVariable(value = "id") Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        OrderDTO updated = orderService.updateOrder(id, order, EntityTags.parse(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated)).body(updated);
     }
 
     @PatchMapping(value = "/status",
@@ -132,6 +297,25 @@ public class OrderController {
         return ResponseEntity.ok(updatedStatus);
     }
 
+    @PatchMapping(value = "/status/batch",
+            consumes = CustomMediaType.APPLICATION_JSON,
+            produces = CustomMediaType.APPLICATION_JSON)
+    @Operation(summary = "Updates the status of many orders",
+            description = "Advances the status of every order whose id is in the JSON array! Each order is reported as advanced, canceled or rejected.",
+            tags = {"Order"},
+            responses = {
+                    @ApiResponse(description = "Updated", responseCode = "200",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = OrderStatusTransitionDTO.class)))
+                    ),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<List<OrderStatusTransitionDTO>> updateOrderStatuses(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(orderService.updateOrderStatuses(ids));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Deletes an order",
             description = "Deletes an id",
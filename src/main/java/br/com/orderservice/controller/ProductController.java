@@ -1,9 +1,16 @@
 package br.com.orderservice.controller;
 
+import br.com.orderservice.dto.CacheStatsDTO;
+import br.com.orderservice.dto.CursorPageDTO;
 import br.com.orderservice.dto.ProductDTO;
+import br.com.orderservice.dto.ProductImportResultDTO;
+import br.com.orderservice.dto.ReportJobDTO;
+import br.com.orderservice.service.ReportJobService;
+import br.com.orderservice.service.ProductImportService;
 import br.com.orderservice.service.ProductService;
 import br.com.orderservice.service.ReportService;
 import br.com.orderservice.util.CustomMediaType;
+import br.com.orderservice.util.EntityTags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,30 +19,46 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
-
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.List;
+import java.nio.file.Path;
 
 @RestController
 @RequestMapping("api/product")
 @Tag(name = "Product", description = "Endpoints for managing Product")
 public class ProductController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     @Autowired
     ProductService productService;
 
     @Autowired
     ReportService reportService;
 
+    @Autowired
+    ProductImportService productImportService;
+
+    @Autowired
+    ReportJobService reportJobService;
+
     @GetMapping(produces = CustomMediaType.APPLICATION_JSON)
     @Operation(summary = "Lists all products", description = "Lists all products",
             tags = {"Product"},
@@ -47,14 +70,35 @@ public class ProductController {
                                             array = @ArraySchema(schema = @Schema(implementation = ProductDTO.class))
                                     )
                             }),
+                    @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
             }
     )
-    public Page<ProductDTO> listAllProducts(@PageableDefault(size = 10)Pageable pageable) {
-        return productService.findAllProducts(pageable);
+    public ResponseEntity<Page<ProductDTO>> listAllProducts(@PageableDefault(size = 10)Pageable pageable) {
+        Page<ProductDTO> products = productService.findAllProducts(pageable);
+        return ResponseEntity.ok().eTag(EntityTags.of(products)).body(products);
+    }
+
+    @GetMapping(value = "/cursor", produces = CustomMediaType.APPLICATION_JSON)
+    @Operation(summary = "Lists products using a cursor",
+            description = "Lists products ordered by id, starting after the opaque cursor returned by the previous call. No total count is computed.",
+            tags = {"Product"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(schema = @Schema(implementation = CursorPageDTO.class))
+                    ),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public CursorPageDTO<ProductDTO> listProductsAfterCursor(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        return productService.findProductsAfter(after, Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
     }
 
     @GetMapping("/report")
@@ -65,23 +109,117 @@ public class ProductController {
                     content = @Content(mediaType = "application/pdf")),
             @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content)
     })
-    public ResponseEntity<InputStreamResource> getProductReport() {
-        try {
-            ByteArrayInputStream bis = reportService.generateProductReport();
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Content-Disposition", "attachment; filename=productReport.pdf");
-
-            return ResponseEntity
-                    .ok()
-                    .headers(headers)
-                    .contentType(CustomMediaType.APPLICATION_PDF)
-                    .body(new InputStreamResource(bis));
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).build();
-        }
+    public ResponseEntity<StreamingResponseBody> getProductReport() {
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Content-Disposition", "attachment; filename=productReport.pdf");
+
+        StreamingResponseBody body = out -> reportService.generateProductReport(out);
+
+        return ResponseEntity
+                .ok()
+                .headers(headers)
+                .contentType(CustomMediaType.APPLICATION_PDF)
+                .body(body);
+    }
+
+    @PostMapping(value = "/report/jobs", produces = CustomMediaType.APPLICATION_JSON)
+    @Operation(summary = "Requests a report of products", description = "Starts generating a report of products in the background and returns the job to poll. An up-to-date report is reused when available.",
+            tags = {"Product"},
+            responses = {
+                    @ApiResponse(description = "Accepted", responseCode = "202",
+                            content = @Content(schema = @Schema(implementation = ReportJobDTO.class))
+                    ),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Too Many Requests", responseCode = "429", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<ReportJobDTO> submitProductReport(UriComponentsBuilder uriBuilder) {
+
+        ReportJobDTO job = reportJobService.submitProductReport();
+        URI address = uriBuilder.path("api/product/report/jobs/{id}").buildAndExpand(job.getId()).toUri();
+
+        return ResponseEntity.accepted().location(address).body(job);
+    }
+
+    @GetMapping(value = "/report/jobs/{id}", produces = CustomMediaType.APPLICATION_JSON)
+    @Operation(summary = "Finds a report job by id", description = "Finds a report job by id",
+            tags = {"Product"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(schema = @Schema(implementation = ReportJobDTO.class))
+                    ),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ReportJobDTO findReportJob(@PathVariable(value = "id") String id) {
+        return reportJobService.findJob(id);
+    }
+
+    @GetMapping("/report/jobs/{id}/download")
+    @Operation(summary = "Downloads a generated report of products", description = "Downloads the PDF of a finished report job",
+            tags = {"Product"},
+            responses = {
+                    @ApiResponse(description = "PDF report", responseCode = "200",
+                            content = @Content(mediaType = "application/pdf")),
+                    @ApiResponse(description = "Report not ready yet", responseCode = "202", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<Resource> downloadProductReport(@PathVariable(value = "id") String id) {
+
+        Path file = reportJobService.findReportFile(id);
+        if (file == null) return ResponseEntity.accepted().build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Content-Disposition", "attachment; filename=productReport.pdf");
+
+        return ResponseEntity
+                .ok()
+                .headers(headers)
+                .contentType(CustomMediaType.APPLICATION_PDF)
+                .body(new FileSystemResource(file));
+    }
+
+    @GetMapping(value = "/search", produces = CustomMediaType.APPLICATION_JSON)
+    @Operation(summary = "Searches products", description = "Searches products by name, sku and description for autocomplete, best matches first",
+            tags = {"Product"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = ProductDTO.class))
+                                    )
+                            }),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public List<ProductDTO> searchProducts(
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return productService.searchProducts(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+    }
+
+    @GetMapping(value = "/cache/stats", produces = CustomMediaType.APPLICATION_JSON)
+    @Operation(summary = "Shows product cache statistics", description = "Shows the size, hits, misses and evictions of the product cache",
+            tags = {"Product"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(schema = @Schema(implementation = CacheStatsDTO.class))
+                    ),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public CacheStatsDTO getProductCacheStats() {
+        return productService.cacheStats();
     }
 
     @GetMapping(value = "/{id}",
@@ -93,14 +231,16 @@ public class ProductController {
                             content = @Content(schema = @Schema(implementation = ProductDTO.class))
                     ),
                     @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+                    @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
             }
     )
-    public ProductDTO findProductById(@PathVariable(value = "id") Long id) {
-        return productService.findProductById(id);
+    public ResponseEntity<ProductDTO> findProductById(@PathVariable(value = "id") Long id) {
+        ProductDTO product = productService.findProductById(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(product.getVersion())).body(product);
     }
 
     @PostMapping(
@@ -126,6 +266,27 @@ public class ProductController {
         return ResponseEntity.created(address).body(productDTO);
     }
 
+    @PostMapping(value = "/import",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = CustomMediaType.APPLICATION_JSON)
+    @Operation(summary = "Imports products from a CSV file",
+            description = "Creates or updates products (matched by sku) from a CSV file with the columns sku, name, description, value and quantity!",
+            tags = {"Product"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(schema = @Schema(implementation = ProductImportResultDTO.class))
+                    ),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<ProductImportResultDTO> importProducts(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            return ResponseEntity.ok(productImportService.importProducts(csv));
+        }
+    }
+
     @PutMapping(value = "/{id}",
             consumes = CustomMediaType.APPLICATION_JSON,
             produces = CustomMediaType.APPLICATION_JSON)
@@ -139,12 +300,15 @@ public class ProductController {
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+                    @ApiResponse(description = "Conflict", responseCode = "409", content = @Content),
+                    @ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
             }
     )
-    public ResponseEntity<ProductDTO> updateProduct(@Valid @RequestBody ProductDTO product, @PathVariable(value = "id") Long id) {
-        ProductDTO updated = productService.updateProduct(id, product);
-        return ResponseEntity.ok(updated);
+    public ResponseEntity<ProductDTO> updateProduct(@Valid @RequestBody ProductDTO product, @PathVariable(value = "id") Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProductDTO updated = productService.updateProduct(id, product, EntityTags.parse(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,25 @@
+package br.com.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long size;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRate;
+
+    private long evictionCount;
+}
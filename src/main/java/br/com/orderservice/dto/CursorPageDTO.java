@@ -0,0 +1,24 @@
+package br.com.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDTO<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<T> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String next;
+}
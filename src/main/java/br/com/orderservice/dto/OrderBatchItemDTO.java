@@ -0,0 +1,32 @@
+package br.com.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderBatchItemDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int index;
+
+    private Long orderId;
+
+    private boolean created;
+
+    private List<String> errors;
+
+    public static OrderBatchItemDTO created(int index, Long orderId) {
+        return new OrderBatchItemDTO(index, orderId, true, List.of());
+    }
+
+    public static OrderBatchItemDTO failed(int index, List<String> errors) {
+        return new OrderBatchItemDTO(index, null, false, errors);
+    }
+}
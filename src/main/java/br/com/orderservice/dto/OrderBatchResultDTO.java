@@ -0,0 +1,22 @@
+package br.com.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderBatchResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int created;
+
+    private int failed;
+
+    private List<OrderBatchItemDTO> results;
+}
@@ -48,4 +48,6 @@ public class OrderDTO implements Serializable {
 
     private List<OrderProductDTO> products = new ArrayList<>();
 
+    private Long version;
+
 }
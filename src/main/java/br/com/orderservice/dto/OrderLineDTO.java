@@ -0,0 +1,25 @@
+package br.com.orderservice.dto;
+
+import br.com.orderservice.enums.Status;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public record OrderLineDTO(
+        Long orderId,
+        String clientName,
+        String phoneNumber,
+        String address,
+        Date createdDate,
+        BigDecimal totalValue,
+        Status status,
+        Long version,
+        Long orderProductId,
+        Integer quantity,
+        Long productId,
+        String sku,
+        String name,
+        String description,
+        BigDecimal value,
+        Integer productQuantity,
+        Long productVersion) {}
@@ -0,0 +1,7 @@
+package br.com.orderservice.dto;
+
+import br.com.orderservice.enums.Status;
+
+import java.util.Date;
+
+public record OrderSearchDTO(Status status, Date from, Date to, String clientName, String phoneNumber) {}
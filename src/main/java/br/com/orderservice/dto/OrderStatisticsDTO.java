@@ -0,0 +1,29 @@
+package br.com.orderservice.dto;
+
+import br.com.orderservice.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatisticsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Map<Status, Long> ordersByStatus;
+
+    private Map<LocalDate, BigDecimal> revenueByDay;
+
+    private long billedOrders;
+
+    private BigDecimal revenue;
+
+    private BigDecimal averageTicket;
+}
@@ -0,0 +1,27 @@
+package br.com.orderservice.dto;
+
+import br.com.orderservice.enums.Status;
+import br.com.orderservice.enums.TransitionOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusTransitionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Status previousStatus;
+
+    private Status status;
+
+    private TransitionOutcome outcome;
+
+    private String message;
+}
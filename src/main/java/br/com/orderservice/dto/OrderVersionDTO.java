@@ -0,0 +1,4 @@
+package br.com.orderservice.dto;
+
+public record OrderVersionDTO(Long version, Long lines, Long lastLineId, Long productVersions) {
+}
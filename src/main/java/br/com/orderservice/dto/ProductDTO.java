@@ -40,4 +40,6 @@ public class ProductDTO implements Serializable {
 
     @NotNull(message = "the quantity cannot be null")
     private Integer quantity;
+
+    private Long version;
 }
@@ -0,0 +1,26 @@
+package br.com.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long rowsRead;
+
+    private long imported;
+
+    private long failed;
+
+    private List<String> errors;
+
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,27 @@
+package br.com.orderservice.dto;
+
+import br.com.orderservice.enums.ReportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReportJobDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+
+    private ReportJobStatus status;
+
+    private Date createdDate;
+
+    private Date completedDate;
+
+    private String message;
+}
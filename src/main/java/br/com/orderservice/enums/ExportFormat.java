@@ -0,0 +1,6 @@
+package br.com.orderservice.enums;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
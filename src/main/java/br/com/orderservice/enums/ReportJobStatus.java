@@ -0,0 +1,9 @@
+package br.com.orderservice.enums;
+
+public enum ReportJobStatus {
+
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED,
+}
@@ -0,0 +1,8 @@
+package br.com.orderservice.enums;
+
+public enum TransitionOutcome {
+
+    ADVANCED,
+    CANCELED,
+    REJECTED,
+}
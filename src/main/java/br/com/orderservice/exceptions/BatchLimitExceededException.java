@@ -0,0 +1,14 @@
+package br.com.orderservice.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BatchLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BatchLimitExceededException(String ex){
+        super(ex);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.orderservice.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyConflictException(String ex){
+        super(ex);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.orderservice.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class ReportCapacityException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ReportCapacityException(String ex){
+        super(ex);
+    }
+}
@@ -1,9 +1,17 @@
 package br.com.orderservice.exceptions.handler;
 
+import br.com.orderservice.exceptions.BatchLimitExceededException;
 import br.com.orderservice.exceptions.ErrorDetails;
 import br.com.orderservice.exceptions.ExceptionResponse;
+import br.com.orderservice.exceptions.IdempotencyConflictException;
+import br.com.orderservice.exceptions.IdempotencyKeyReusedException;
+import br.com.orderservice.exceptions.InvalidCursorException;
+import br.com.orderservice.exceptions.InvalidIdempotencyKeyException;
+import br.com.orderservice.exceptions.PreconditionFailedException;
+import br.com.orderservice.exceptions.ReportCapacityException;
 import br.com.orderservice.exceptions.RequiredObjectIsNullException;
 import br.com.orderservice.exceptions.ResourceNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -45,7 +53,8 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
         return new ResponseEntity<>(exceptionResponse, HttpStatus.NOT_FOUND);
     }
 
-    @ExceptionHandler(RequiredObjectIsNullException.class)
+    @ExceptionHandler({RequiredObjectIsNullException.class, InvalidCursorException.class,
+            BatchLimitExceededException.class, InvalidIdempotencyKeyException.class})
     public final ResponseEntity<ExceptionResponse> handleBadRequestExceptions(
             Exception ex, WebRequest request) {
 
@@ -56,6 +65,61 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
         return new ResponseEntity<>(exceptionResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public final ResponseEntity<ExceptionResponse> handleConflictExceptions(
+            Exception ex, WebRequest request) {
+
+        ExceptionResponse exceptionResponse = new ExceptionResponse(
+                new Date(),
+                "The resource was modified by another request, reload it and try again.",
+                request.getDescription(false));
+        return new ResponseEntity<>(exceptionResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public final ResponseEntity<ExceptionResponse> handleIdempotencyConflictExceptions(
+            Exception ex, WebRequest request) {
+
+        ExceptionResponse exceptionResponse = new ExceptionResponse(
+                new Date(),
+                ex.getMessage(),
+                request.getDescription(false));
+        return new ResponseEntity<>(exceptionResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public final ResponseEntity<ExceptionResponse> handleUnprocessableEntityExceptions(
+            Exception ex, WebRequest request) {
+
+        ExceptionResponse exceptionResponse = new ExceptionResponse(
+                new Date(),
+                ex.getMessage(),
+                request.getDescription(false));
+        return new ResponseEntity<>(exceptionResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public final ResponseEntity<ExceptionResponse> handlePreconditionFailedExceptions(
+            Exception ex, WebRequest request) {
+
+        ExceptionResponse exceptionResponse = new ExceptionResponse(
+                new Date(),
+                ex.getMessage(),
+                request.getDescription(false));
+        return new ResponseEntity<>(exceptionResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ReportCapacityException.class)
+    public final ResponseEntity<ExceptionResponse> handleTooManyRequestsExceptions(
+            Exception ex, WebRequest request) {
+
+        ExceptionResponse exceptionResponse = new ExceptionResponse(
+                new Date(),
+                ex.getMessage(),
+                request.getDescription(false));
+        return new ResponseEntity<>(exceptionResponse, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex,
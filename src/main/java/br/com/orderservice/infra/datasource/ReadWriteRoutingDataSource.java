@@ -0,0 +1,23 @@
+package br.com.orderservice.infra.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return PRIMARY;
+
+        String replica = replicaLagMonitor.nextReplica();
+        return replica != null ? replica : PRIMARY;
+    }
+}
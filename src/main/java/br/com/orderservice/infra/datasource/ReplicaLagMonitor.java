@@ -0,0 +1,86 @@
+package br.com.orderservice.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private Logger logger = Logger.getLogger(ReplicaLagMonitor.class.getName());
+
+    private final Map<String, HikariDataSource> replicas;
+    private final long maxLagSeconds;
+    private final Set<String> healthy = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<String> available = List.of();
+
+    public ReplicaLagMonitor(Map<String, HikariDataSource> replicas, long maxLagSeconds) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    public String nextReplica() {
+        List<String> current = available;
+        if (current.isEmpty()) return null;
+
+        return current.get(Math.floorMod(next.getAndIncrement(), current.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        replicas.forEach((name, dataSource) -> {
+            Long lag = lagSeconds(dataSource, name);
+            boolean usable = lag != null && lag <= maxLagSeconds;
+
+            if (usable && healthy.add(name)) {
+                logger.info("Replica " + name + " is back in rotation, lag " + lag + "s.");
+            } else if (!usable && healthy.remove(name)) {
+                logger.warning("Replica " + name + " removed from rotation, lag "
+                        + (lag == null ? "unknown" : lag + "s") + ", reads fall back to the primary.");
+            }
+        });
+
+        List<String> current = new ArrayList<>();
+        for (String name : replicas.keySet()) {
+            if (healthy.contains(name)) current.add(name);
+        }
+        available = List.copyOf(current);
+    }
+
+    protected Long lagSeconds(HikariDataSource dataSource, String name) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+
+            // No replication status means the URL points at a server that is not a replica.
+            if (!rs.next()) return null;
+
+            long lag = rs.getLong("Seconds_Behind_Source");
+            return rs.wasNull() ? null : lag;
+        } catch (SQLException e) {
+            logger.warning("Could not read replication status of " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+}
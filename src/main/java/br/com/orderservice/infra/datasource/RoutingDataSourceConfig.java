@@ -0,0 +1,77 @@
+package br.com.orderservice.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.urls")
+public class RoutingDataSourceConfig {
+
+    // Replicas take the same pool settings as the primary. The monitor owns them and closes them
+    // when the context shuts down.
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties, Environment environment,
+                                               @Value("${datasource.replica.urls}") List<String> urls,
+                                               @Value("${datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+        Binder binder = Binder.get(environment);
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls.get(i).trim())
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaLagMonitor(replicas, maxLagSeconds);
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return primary;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor) {
+        Map<Object, Object> targets = new HashMap<>(replicaLagMonitor.getReplicas());
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primaryDataSource);
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaLagMonitor);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+
+        // The routing key depends on the transaction's read-only flag, which is only bound after
+        // the transaction manager asks for a connection, so the physical connection is fetched lazily.
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.orderservice.infra.metrics;
+
+import br.com.orderservice.enums.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class OrderMetrics {
+
+    private final MeterRegistry registry;
+
+    private final Counter stockCancellations;
+
+    private final DistributionSummary orderLines;
+
+    public OrderMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.stockCancellations = Counter.builder("orderservice.order.stock.cancellations")
+                .description("Orders canceled because there was not enough stock")
+                .register(registry);
+        this.orderLines = DistributionSummary.builder("orderservice.order.lines")
+                .description("Number of product lines per created order")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void recordTransition(Status from, Status to) {
+        afterCommit(() -> {
+            registry.counter("orderservice.order.status.transitions", "from", from.name(), "to", to.name())
+                    .increment();
+            if (from == Status.EVALUATION && to == Status.CANCELED) stockCancellations.increment();
+        });
+    }
+
+    public void recordCreated(int lines) {
+        afterCommit(() -> orderLines.record(lines));
+    }
+
+    // Retried or rolled-back attempts must not be counted, so metrics are only recorded once committed.
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
@@ -2,26 +2,58 @@ package br.com.orderservice.infra.security;
 
 import br.com.orderservice.model.User;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HexFormat;
 
 @Service
 public class JwtTokenProvider {
+
+    private static final String ISSUER = "OrderService-auth-api";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token.cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+
+    private Algorithm algorithm;
+
+    private JWTVerifier verifier;
+
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaxSize)
+                .build();
+    }
+
     public String generateToken(User user) {
         try{
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             String token = JWT.create()
-                    .withIssuer("OrderService-auth-api")
+                    .withIssuer(ISSUER)
                     .withSubject(user.getLogin())
                     .withExpiresAt(genExpirationDate())
                     .sign(algorithm);
@@ -31,14 +63,22 @@ public class JwtTokenProvider {
         }
     }
 
+    @Timed(value = "orderservice.jwt.validation", percentiles = {0.5, 0.95, 0.99})
     public String validateToken(String token) {
+        String key = hash(token);
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(Instant.now())) return cached.subject();
+            verifiedTokens.invalidate(key);
+        }
+
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("OrderService-auth-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            DecodedJWT decoded = verifier.verify(token);
+            if (decoded.getExpiresAtAsInstant() != null) {
+                verifiedTokens.put(key, new VerifiedToken(decoded.getSubject(), decoded.getExpiresAtAsInstant()));
+            }
+            return decoded.getSubject();
         } catch (JWTVerificationException exception) {
             return "";
         }
@@ -47,4 +87,15 @@ public class JwtTokenProvider {
     private Instant genExpirationDate() {
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    private record VerifiedToken(String subject, Instant expiresAt) {}
 }
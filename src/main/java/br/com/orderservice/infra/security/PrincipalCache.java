@@ -0,0 +1,37 @@
+package br.com.orderservice.infra.security;
+
+import br.com.orderservice.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, UserDetails> principals;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${api.security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${api.security.principal-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public UserDetails findByLogin(String login) {
+        if (login == null || login.isEmpty()) return null;
+        return principals.get(login, userRepository::findByLogin);
+    }
+
+    public void invalidate(String login) {
+        principals.invalidate(login);
+    }
+}
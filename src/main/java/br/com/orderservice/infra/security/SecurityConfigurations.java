@@ -28,10 +28,17 @@ public class SecurityConfigurations {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/swagger-ui/**","/v3/api-docs/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/auth/register").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/product").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/product/import").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/product/report").hasRole("ADMIN")
+                        .requestMatchers("/api/product/report/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/product/cache/stats").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/order/statistics").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/order/export").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
@@ -1,6 +1,5 @@
 package br.com.orderservice.infra.security;
 
-import br.com.orderservice.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,16 +20,19 @@ public class SecurityFilter extends OncePerRequestFilter {
     JwtTokenProvider jwtTokenProvider;
 
     @Autowired
-    UserRepository userRepository;
+    PrincipalCache principalCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoveryToken(request);
         if(token != null) {
             var login = jwtTokenProvider.validateToken(token);
-            UserDetails user = userRepository.findByLogin(login);
+            UserDetails user = principalCache.findByLogin(login);
 
-            var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            if(user != null) {
+                var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,31 @@
+package br.com.orderservice.infra.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(Environment environment) {
+        long slowQueryThresholdMillis = environment.getProperty("sql.slow-query-threshold-ms", Long.class, 200L);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) return bean;
+
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SqlStatementListener(slowQueryThresholdMillis))
+                        .build();
+            }
+        };
+    }
+}
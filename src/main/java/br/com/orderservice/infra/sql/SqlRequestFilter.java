@@ -0,0 +1,63 @@
+package br.com.orderservice.infra.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlRequestFilter extends OncePerRequestFilter {
+
+    private Logger logger = Logger.getLogger(SqlRequestFilter.class.getName());
+
+    private final int statementThreshold;
+
+    private final DistributionSummary statementsPerRequest;
+
+    private final Timer sqlTimePerRequest;
+
+    public SqlRequestFilter(MeterRegistry registry,
+                            @Value("${sql.request-statement-threshold:20}") int statementThreshold) {
+        this.statementThreshold = statementThreshold;
+        this.statementsPerRequest = DistributionSummary.builder("orderservice.http.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.sqlTimePerRequest = Timer.builder("orderservice.http.sql.time")
+                .description("Time spent in SQL statements per HTTP request")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.clear();
+
+            statementsPerRequest.record(stats.getStatements());
+            sqlTimePerRequest.record(stats.getElapsedMillis(), TimeUnit.MILLISECONDS);
+
+            if (stats.getStatements() > statementThreshold) {
+                logger.warning(request.getMethod() + " " + request.getRequestURI() + " executed "
+                        + stats.getStatements() + " SQL statements in " + stats.getElapsedMillis()
+                        + " ms, above the threshold of " + statementThreshold + ". Possible N+1 query.");
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.orderservice.infra.sql;
+
+public class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private long elapsedMillis;
+
+    public static SqlRequestStats start() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    void record(int statements, long elapsedMillis) {
+        this.statements += statements;
+        this.elapsedMillis += elapsedMillis;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
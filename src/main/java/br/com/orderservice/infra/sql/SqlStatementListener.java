@@ -0,0 +1,70 @@
+package br.com.orderservice.infra.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final String SERVICE_PACKAGE = "br.com.orderservice.service.";
+
+    private static final int MAX_LOGGED_PARAMETER_SETS = 5;
+
+    private Logger logger = Logger.getLogger(SqlStatementListener.class.getName());
+
+    private final long slowQueryThresholdMillis;
+
+    public SqlStatementListener(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) stats.record(queryInfoList.size(), execInfo.getElapsedTime());
+
+        if (execInfo.getElapsedTime() >= slowQueryThresholdMillis) {
+            logger.warning("Slow query (" + execInfo.getElapsedTime() + " ms) from " + callingServiceMethod()
+                    + ": " + describe(queryInfoList));
+        }
+    }
+
+    private String describe(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .map(query -> query.getQuery() + " " + parameters(query))
+                .collect(Collectors.joining("; "));
+    }
+
+    private String parameters(QueryInfo query) {
+        List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+        if (parameterSets.isEmpty()) return "";
+
+        String logged = parameterSets.stream()
+                .limit(MAX_LOGGED_PARAMETER_SETS)
+                .map(operations -> operations.stream()
+                        .map(operation -> String.valueOf(operation.getArgs()[1]))
+                        .collect(Collectors.joining(", ", "[", "]")))
+                .collect(Collectors.joining(" "));
+
+        int remaining = parameterSets.size() - MAX_LOGGED_PARAMETER_SETS;
+        return remaining > 0 ? logged + " (+" + remaining + " more)" : logged;
+    }
+
+    private String callingServiceMethod() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE))
+                .filter(frame -> !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(SERVICE_PACKAGE.length()) + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+}
@@ -1,9 +1,7 @@
 package br.com.orderservice.mappers;
 
-import br.com.orderservice.dto.OrderDTO;
 import br.com.orderservice.dto.OrderForStatusDTO;
 import br.com.orderservice.model.Order;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -12,19 +10,20 @@ import java.util.stream.Collectors;
 @Component
 public class OrderForStatusMapper {
 
-    private final ModelMapper mapper;
-
-    public OrderForStatusMapper(ModelMapper mapper) {
-        this.mapper = mapper;
-    }
-
     public Order toOrder(OrderForStatusDTO dto) {
-        return mapper.map(dto, Order.class);
+        if (dto == null) return null;
+
+        Order order = new Order();
+        order.setId(dto.getId());
+        order.setStatus(dto.getStatus());
+        return order;
     }
 
     public OrderForStatusDTO toOrderForStatusDTO(Order order)
     {
-        return mapper.map(order, OrderForStatusDTO.class);
+        if (order == null) return null;
+
+        return new OrderForStatusDTO(order.getId(), order.getStatus());
     }
 
     public List<Order> toOrderList(List<OrderForStatusDTO> orders) {
@@ -1,31 +1,110 @@
 package br.com.orderservice.mappers;
 
 import br.com.orderservice.dto.OrderDTO;
+import br.com.orderservice.dto.OrderLineDTO;
+import br.com.orderservice.dto.OrderProductDTO;
 import br.com.orderservice.dto.ProductDTO;
 import br.com.orderservice.model.Order;
-import br.com.orderservice.model.Product;
-import org.modelmapper.ModelMapper;
+import br.com.orderservice.model.OrderProduct;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
 public class OrderMapper {
 
-    private final ModelMapper mapper;
+    private final ProductMapper productMapper;
 
-    public OrderMapper(ModelMapper mapper) {
-        this.mapper = mapper;
+    public OrderMapper(ProductMapper productMapper) {
+        this.productMapper = productMapper;
     }
 
     public Order toOrder(OrderDTO dto) {
-        return mapper.map(dto, Order.class);
+        if (dto == null) return null;
+
+        Order order = new Order();
+        order.setId(dto.getId());
+        order.setClientName(dto.getClientName());
+        order.setPhoneNumber(dto.getPhoneNumber());
+        order.setAddress(dto.getAddress());
+        order.setCreatedDate(dto.getCreatedDate());
+        order.setTotalValue(dto.getTotalValue());
+        order.setStatus(dto.getStatus());
+
+        List<OrderProduct> products = new ArrayList<>();
+        if (dto.getProducts() != null) {
+            for (OrderProductDTO orderProductDTO : dto.getProducts()) {
+                OrderProduct orderProduct = new OrderProduct();
+                orderProduct.setId(orderProductDTO.getId());
+                orderProduct.setQuantity(orderProductDTO.getQuantity());
+                orderProduct.setProduct(productMapper.toProduct(orderProductDTO.getProduct()));
+                products.add(orderProduct);
+            }
+        }
+        order.setProducts(products);
+
+        return order;
     }
 
     public OrderDTO toOrderDTO(Order order)
     {
-        return mapper.map(order, OrderDTO.class);
+        if (order == null) return null;
+
+        List<OrderProductDTO> products = new ArrayList<>();
+        if (order.getProducts() != null) {
+            for (OrderProduct orderProduct : order.getProducts()) {
+                products.add(new OrderProductDTO(
+                        orderProduct.getId(),
+                        orderProduct.getQuantity(),
+                        productMapper.toProductDTO(orderProduct.getProduct())));
+            }
+        }
+
+        return new OrderDTO(
+                order.getId(),
+                order.getClientName(),
+                order.getPhoneNumber(),
+                order.getAddress(),
+                order.getCreatedDate(),
+                order.getTotalValue(),
+                order.getStatus(),
+                products,
+                order.getVersion());
+    }
+
+    public Map<Long, OrderDTO> toOrderDTOMap(List<OrderLineDTO> lines) {
+        Map<Long, OrderDTO> orders = new LinkedHashMap<>();
+
+        for (OrderLineDTO line : lines) {
+            OrderDTO order = orders.computeIfAbsent(line.orderId(), id -> new OrderDTO(
+                    id,
+                    line.clientName(),
+                    line.phoneNumber(),
+                    line.address(),
+                    line.createdDate(),
+                    line.totalValue(),
+                    line.status(),
+                    new ArrayList<>(),
+                    line.version()));
+
+            if (line.orderProductId() != null) {
+                ProductDTO product = line.productId() == null ? null : new ProductDTO(
+                        line.productId(),
+                        line.sku(),
+                        line.name(),
+                        line.description(),
+                        line.value(),
+                        line.productQuantity(),
+                        line.productVersion());
+                order.getProducts().add(new OrderProductDTO(line.orderProductId(), line.quantity(), product));
+            }
+        }
+
+        return orders;
     }
 
     public List<Order> toOrderList(List<OrderDTO> orders) {
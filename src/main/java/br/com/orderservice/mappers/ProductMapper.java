@@ -2,7 +2,6 @@ package br.com.orderservice.mappers;
 
 import br.com.orderservice.dto.ProductDTO;
 import br.com.orderservice.model.Product;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -10,19 +9,32 @@ import java.util.stream.Collectors;
 @Component
 public class ProductMapper {
 
-    private final ModelMapper mapper;
-
-    public ProductMapper(ModelMapper mapper) {
-        this.mapper = mapper;
-    }
-
     public Product toProduct(ProductDTO vo) {
-        return mapper.map(vo, Product.class);
+        if (vo == null) return null;
+
+        Product product = new Product();
+        product.setId(vo.getId());
+        product.setSku(vo.getSku());
+        product.setName(vo.getName());
+        product.setDescription(vo.getDescription());
+        product.setValue(vo.getValue());
+        product.setQuantity(vo.getQuantity());
+        product.setVersion(vo.getVersion());
+        return product;
     }
 
     public ProductDTO toProductDTO(Product product)
     {
-        return mapper.map(product, ProductDTO.class);
+        if (product == null) return null;
+
+        return new ProductDTO(
+                product.getId(),
+                product.getSku(),
+                product.getName(),
+                product.getDescription(),
+                product.getValue(),
+                product.getQuantity(),
+                product.getVersion());
     }
 
     public List<Product> toProductList(List<ProductDTO> products) {
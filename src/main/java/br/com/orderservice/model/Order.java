@@ -23,7 +23,10 @@ import java.util.List;
 public class Order implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_seq")
+    @TableGenerator(name = "orders_seq", table = "id_sequences",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "orders", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -55,6 +58,9 @@ public class Order implements Serializable {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<OrderProduct> products = new ArrayList<>();
 
+    @Version
+    private Long version;
+
     /*
 
     produto existe? na criação order
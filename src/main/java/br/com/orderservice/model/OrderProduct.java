@@ -19,7 +19,10 @@ public class OrderProduct implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_product_seq")
+    @TableGenerator(name = "order_product_seq", table = "id_sequences",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "order_product", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -43,4 +43,7 @@ public class Product implements Serializable {
 
     @NotNull
     private Integer quantity;
+
+    @Version
+    private Long version;
 }
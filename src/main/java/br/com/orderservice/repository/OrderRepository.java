@@ -1,6 +1,49 @@
 package br.com.orderservice.repository;
 
+import br.com.orderservice.dto.OrderLineDTO;
+import br.com.orderservice.dto.OrderVersionDTO;
 import br.com.orderservice.model.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {}
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository {
+
+    @Query(value = "SELECT o.id FROM Order o",
+            countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<Long> findPageOfIds(Pageable pageable);
+
+    @Query("SELECT o FROM Order o " +
+            "LEFT JOIN FETCH o.products op " +
+            "LEFT JOIN FETCH op.product " +
+            "WHERE o.id IN :ids")
+    List<Order> findAllWithProductsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT o.id FROM Order o WHERE o.id > :after ORDER BY o.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query("SELECT new br.com.orderservice.dto.OrderLineDTO(" +
+            "o.id, o.clientName, o.phoneNumber, o.address, o.createdDate, o.totalValue, o.status, o.version, " +
+            "op.id, op.quantity, p.id, p.sku, p.name, p.description, p.value, p.quantity, p.version) " +
+            "FROM Order o " +
+            "LEFT JOIN o.products op " +
+            "LEFT JOIN op.product p " +
+            "WHERE o.id IN :ids " +
+            "ORDER BY op.id")
+    List<OrderLineDTO> findOrderLinesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new br.com.orderservice.dto.OrderVersionDTO(" +
+            "o.version, COUNT(op.id), COALESCE(MAX(op.id), 0L), COALESCE(SUM(p.version), 0L)) " +
+            "FROM Order o " +
+            "LEFT JOIN o.products op " +
+            "LEFT JOIN op.product p " +
+            "WHERE o.id = :id " +
+            "GROUP BY o.id, o.version")
+    Optional<OrderVersionDTO> findVersionById(@Param("id") Long id);
+}
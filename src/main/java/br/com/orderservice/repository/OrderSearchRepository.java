@@ -0,0 +1,14 @@
+package br.com.orderservice.repository;
+
+import br.com.orderservice.dto.OrderSearchDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public interface OrderSearchRepository {
+
+    Slice<Long> searchIds(OrderSearchDTO search, Pageable pageable);
+
+    List<Long> searchIdsAfter(OrderSearchDTO search, Long after, int size);
+}
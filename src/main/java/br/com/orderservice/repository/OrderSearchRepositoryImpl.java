@@ -0,0 +1,87 @@
+package br.com.orderservice.repository;
+
+import br.com.orderservice.dto.OrderSearchDTO;
+import br.com.orderservice.model.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Long> searchIds(OrderSearchDTO search, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> order = query.from(Order.class);
+
+        query.select(order.get("id"))
+                .where(predicates(cb, order, search).toArray(new Predicate[0]))
+                .orderBy(cb.desc(order.get("createdDate")), cb.desc(order.get("id")));
+
+        List<Long> ids = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        if (hasNext) ids = ids.subList(0, pageable.getPageSize());
+
+        return new SliceImpl<>(ids, pageable, hasNext);
+    }
+
+    @Override
+    public List<Long> searchIdsAfter(OrderSearchDTO search, Long after, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> order = query.from(Order.class);
+
+        List<Predicate> predicates = predicates(cb, order, search);
+        predicates.add(cb.greaterThan(order.get("id"), after));
+
+        query.select(order.get("id"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(order.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private List<Predicate> predicates(CriteriaBuilder cb, Root<Order> order, OrderSearchDTO search) {
+        // Only the filters that were sent become predicates, so MySQL can pick the
+        // matching (column, created_date) index instead of scanning.
+        List<Predicate> predicates = new ArrayList<>();
+        if (search.status() != null) {
+            predicates.add(cb.equal(order.get("status"), search.status()));
+        }
+        if (search.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("createdDate"), search.from()));
+        }
+        if (search.to() != null) {
+            predicates.add(cb.lessThan(order.get("createdDate"), search.to()));
+        }
+        if (search.clientName() != null && !search.clientName().isBlank()) {
+            predicates.add(cb.like(order.get("clientName"), escapeLike(search.clientName()) + "%", '\\'));
+        }
+        if (search.phoneNumber() != null && !search.phoneNumber().isBlank()) {
+            predicates.add(cb.equal(order.get("phoneNumber"), search.phoneNumber()));
+        }
+        return predicates;
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
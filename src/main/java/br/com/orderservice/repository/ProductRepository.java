@@ -1,6 +1,30 @@
 package br.com.orderservice.repository;
 
+import br.com.orderservice.dto.ProductDTO;
 import br.com.orderservice.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {}
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    @Query(value = "SELECT new br.com.orderservice.dto.ProductDTO(" +
+            "p.id, p.sku, p.name, p.description, p.value, p.quantity, p.version) FROM Product p",
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductDTO> findAllProjectedBy(Pageable pageable);
+
+    @Query("SELECT new br.com.orderservice.dto.ProductDTO(" +
+            "p.id, p.sku, p.name, p.description, p.value, p.quantity, p.version) " +
+            "FROM Product p WHERE p.sku IN :skus")
+    List<ProductDTO> findProjectedBySkuIn(@Param("skus") Collection<String> skus);
+
+    @Query("SELECT new br.com.orderservice.dto.ProductDTO(" +
+            "p.id, p.sku, p.name, p.description, p.value, p.quantity, p.version) " +
+            "FROM Product p WHERE p.id > :after ORDER BY p.id")
+    List<ProductDTO> findProjectedAfter(@Param("after") Long after, Pageable pageable);
+}
@@ -0,0 +1,371 @@
+package br.com.orderservice.search;
+
+import br.com.orderservice.dto.ProductDTO;
+import br.com.orderservice.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+@Component
+public class ProductSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private static final int SHORT_QUERY_CANDIDATES = 2000;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+
+    private Logger logger = Logger.getLogger(ProductSearchIndex.class.getName());
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Documents are addressed by an ordinal that only ever grows, so every posting
+    // list stays sorted and can be intersected with binary search. An update gets a
+    // new ordinal and leaves a null behind, which compaction later reclaims.
+    private final List<Document> documents = new ArrayList<>();
+
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private int removed = 0;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+
+        Long lastId = 0L;
+        List<ProductDTO> products = productRepository.findProjectedAfter(lastId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+        while (!products.isEmpty()) {
+            putAll(products);
+            lastId = products.get(products.size() - 1).getId();
+            products = productRepository.findProjectedAfter(lastId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+        }
+
+        logger.info("Indexed " + ordinalsById.size() + " products for search in "
+                + (System.currentTimeMillis() - start) + " ms.");
+    }
+
+    public void put(ProductDTO product) {
+        putAll(List.of(product));
+    }
+
+    // Writes made inside a transaction reach the index only once it commits, so a rolled-back
+    // create or update never leaves a phantom or stale entry behind.
+    public void putAll(Collection<ProductDTO> products) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (ProductDTO product : products) {
+                    removeOrdinal(ordinalsById.remove(product.getId()));
+                    add(Document.of(product.getId(), normalize(product.getSku()),
+                            normalize(product.getName()), normalize(product.getDescription())));
+                }
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeOrdinal(ordinalsById.remove(id));
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<Long> search(String text, int limit) {
+        String query = normalize(text);
+        if (query.isEmpty() || limit <= 0) return List.of();
+
+        String wordStart = " " + query;
+        PriorityQueue<Match> top = new PriorityQueue<>(limit + 1);
+
+        lock.readLock().lock();
+        try {
+            // A one- or two-letter query is a keystroke in progress that can match most of the catalog,
+            // so only a bounded number of its candidates are ranked. Longer queries rank every candidate.
+            int[] candidates = candidates(query, query.length() < GRAM ? SHORT_QUERY_CANDIDATES : Integer.MAX_VALUE);
+            for (int ordinal : candidates) {
+                Document document = documents.get(ordinal);
+                if (document == null) continue;
+
+                // Once the heap is full, a candidate only gets in by beating the worst match kept so far.
+                Match worst = top.size() < limit ? null : top.peek();
+                int score = score(document, query, wordStart, worst == null ? 1 : worst.score());
+                if (score == 0) continue;
+                if (worst != null && Match.compare(score, document, worst.score(), worst.document()) <= 0) continue;
+
+                top.offer(new Match(document, score));
+                if (top.size() > limit) top.poll();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Match> matches = new ArrayList<>(top);
+        matches.sort(Comparator.reverseOrder());
+        return matches.stream().map(match -> match.document().id()).toList();
+    }
+
+    private int[] candidates(String query, int max) {
+        List<Postings> lists = new ArrayList<>();
+        for (String key : queryKeys(query)) {
+            Postings list = postings.get(key);
+            if (list == null) return new int[0];
+            lists.add(list);
+        }
+        if (lists.isEmpty()) return new int[0];
+
+        lists.sort(Comparator.comparingInt(Postings::size));
+
+        // The smallest list drives the intersection and every other list is only walked forward,
+        // since ordinals ascend in all of them.
+        Postings smallest = lists.get(0);
+        int[] positions = new int[lists.size()];
+        int[] result = new int[Math.min(smallest.size(), max)];
+        int count = 0;
+        for (int i = 0; i < smallest.size() && count < result.length; i++) {
+            int ordinal = smallest.get(i);
+            boolean inAll = true;
+            for (int j = 1; j < lists.size() && inAll; j++) {
+                Postings list = lists.get(j);
+                positions[j] = list.seek(positions[j], ordinal);
+                inAll = positions[j] < list.size() && list.get(positions[j]) == ordinal;
+            }
+            if (inAll) result[count++] = ordinal;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // Returns 0 as soon as the document cannot reach the floor, so a full heap skips the costlier checks.
+    private int score(Document document, String query, String wordStart, int floor) {
+        String text = document.text();
+        int length = query.length();
+
+        if (text.startsWith(query) && length <= document.skuLength()) {
+            return length == document.skuLength() ? 100 : 80;
+        }
+        if (floor > 60) return 0;
+        if (text.startsWith(query, document.nameStart()) && length <= document.nameLength()) return 60;
+        if (floor > 50) return 0;
+        if (document.inName(text.indexOf(wordStart, document.nameStart()), wordStart.length())) return 50;
+        if (floor > 40) return 0;
+        if (document.inName(text.indexOf(query, document.nameStart()), length)) return 40;
+        if (floor > 30) return 0;
+        int inSku = text.indexOf(query);
+        if (inSku >= 0 && inSku + length <= document.skuLength()) return 30;
+        if (floor > 10) return 0;
+        if (text.indexOf(query, document.descriptionStart()) >= 0) return 10;
+        return 0;
+    }
+
+    private void add(Document document) {
+        int ordinal = documents.size();
+        documents.add(document);
+        ordinalsById.put(document.id(), ordinal);
+
+        for (String key : documentKeys(document)) {
+            postings.computeIfAbsent(key, k -> new Postings()).add(ordinal);
+        }
+    }
+
+    private void removeOrdinal(Integer ordinal) {
+        if (ordinal == null) return;
+        documents.set(ordinal, null);
+        removed++;
+    }
+
+    private void compactIfNeeded() {
+        if (removed < 1000 || removed * 4 < documents.size()) return;
+
+        List<Document> live = documents.stream().filter(document -> document != null).toList();
+        documents.clear();
+        ordinalsById.clear();
+        postings.clear();
+        removed = 0;
+
+        live.forEach(this::add);
+    }
+
+    private Set<String> documentKeys(Document document) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String field : List.of(document.sku(), document.name(), document.description())) {
+            addGrams(keys, field);
+            for (String token : field.split(" ")) {
+                if (token.isEmpty()) continue;
+                for (int length = 1; length < GRAM && length <= token.length(); length++) {
+                    keys.add("^" + token.substring(0, length));
+                }
+            }
+        }
+        return keys;
+    }
+
+    private Set<String> queryKeys(String query) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (query.length() < GRAM) {
+            keys.add("^" + query);
+        } else {
+            addGrams(keys, query);
+        }
+        return keys;
+    }
+
+    private void addGrams(Set<String> keys, String text) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            keys.add(text.substring(i, i + GRAM));
+        }
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    static String normalize(String text) {
+        if (text == null) return "";
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // The normalized fields are kept in one string, separated by a character that normalization never
+    // produces, so scoring a candidate touches a single string and no match can span two fields.
+    private record Document(Long id, String text, int nameStart, int descriptionStart) {
+
+        private static final char FIELD_SEPARATOR = '\n';
+
+        private static Document of(Long id, String sku, String name, String description) {
+            return new Document(id, sku + FIELD_SEPARATOR + name + FIELD_SEPARATOR + description,
+                    sku.length() + 1, sku.length() + name.length() + 2);
+        }
+
+        private int skuLength() {
+            return nameStart - 1;
+        }
+
+        private int nameLength() {
+            return descriptionStart - nameStart - 1;
+        }
+
+        // Whether a match found at index, searching from the start of the name, ends inside the name.
+        private boolean inName(int index, int length) {
+            return index >= 0 && index + length <= descriptionStart - 1;
+        }
+
+        private String sku() {
+            return text.substring(0, skuLength());
+        }
+
+        private String name() {
+            return text.substring(nameStart, descriptionStart - 1);
+        }
+
+        private String description() {
+            return text.substring(descriptionStart);
+        }
+    }
+
+    private record Match(Document document, int score) implements Comparable<Match> {
+
+        // Higher score first, then the shorter name, then the lower id.
+        private static int compare(int score, Document document, int otherScore, Document other) {
+            if (score != otherScore) return Integer.compare(score, otherScore);
+            if (document.nameLength() != other.nameLength()) {
+                return Integer.compare(other.nameLength(), document.nameLength());
+            }
+            return Long.compare(other.id(), document.id());
+        }
+
+        @Override
+        public int compareTo(Match other) {
+            return compare(score, document, other.score, other.document);
+        }
+    }
+
+    private static class Postings {
+
+        private int[] ordinals = new int[4];
+
+        private int size = 0;
+
+        private void add(int ordinal) {
+            if (size == ordinals.length) ordinals = Arrays.copyOf(ordinals, size * 2);
+            ordinals[size++] = ordinal;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private int get(int index) {
+            return ordinals[index];
+        }
+
+        // First position at or after from whose ordinal is not below the given one. It gallops forward
+        // and then bisects the last step, so lists that mostly line up cost one comparison per step.
+        private int seek(int from, int ordinal) {
+            if (from >= size || ordinals[from] >= ordinal) return from;
+
+            int low = from;
+            int step = 1;
+            while (low + step < size && ordinals[low + step] < ordinal) {
+                low += step;
+                step <<= 1;
+            }
+
+            int high = Math.min(low + step, size);
+            while (low + 1 < high) {
+                int middle = (low + high) >>> 1;
+                if (ordinals[middle] < ordinal) low = middle;
+                else high = middle;
+            }
+            return high;
+        }
+    }
+}
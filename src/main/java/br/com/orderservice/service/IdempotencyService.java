@@ -0,0 +1,204 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.dto.OrderDTO;
+import br.com.orderservice.exceptions.IdempotencyConflictException;
+import br.com.orderservice.exceptions.IdempotencyKeyReusedException;
+import br.com.orderservice.exceptions.InvalidIdempotencyKeyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private Logger logger = Logger.getLogger(IdempotencyService.class.getName());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final Duration pendingTimeout;
+    private final Cache<String, StoredResponse> responses;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(JdbcTemplate jdbcTemplate,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${idempotency.retention-hours:24}") long retentionHours,
+                              @Value("${idempotency.pending-timeout-seconds:60}") long pendingTimeoutSeconds,
+                              @Value("${idempotency.cache.max-size:10000}") long maxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = Duration.ofHours(retentionHours);
+        this.pendingTimeout = Duration.ofSeconds(pendingTimeoutSeconds);
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    public OrderDTO execute(String key, OrderDTO request, Supplier<OrderDTO> action) {
+
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "The Idempotency-Key header must have between 1 and " + MAX_KEY_LENGTH + " characters.");
+        }
+
+        String requestHash = hash(request);
+
+        StoredResponse cached = responses.getIfPresent(key);
+        if (cached != null) return replay(cached, requestHash);
+
+        // Duplicates arriving while the first request is still running wait for its outcome
+        // instead of creating a second order.
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            if (!running.requestHash().equals(requestHash)) throw reused();
+            return await(running.result());
+        }
+
+        try {
+            OrderDTO result = claimAndRun(key, requestHash, action);
+            mine.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < ?",
+                Timestamp.from(Instant.now().minus(retention)));
+
+        if (purged > 0) logger.info("Purged " + purged + " expired idempotency keys.");
+    }
+
+    private OrderDTO claimAndRun(String key, String requestHash, Supplier<OrderDTO> action) {
+
+        // A pending row older than the timeout belongs to a request that died mid-flight.
+        jdbcTemplate.update("DELETE FROM idempotency_keys " +
+                        "WHERE idempotency_key = ? AND response_body IS NULL AND created_at < ?",
+                key, Timestamp.from(Instant.now().minus(pendingTimeout)));
+
+        int claimed = jdbcTemplate.update("INSERT IGNORE INTO idempotency_keys " +
+                        "(idempotency_key, request_hash, response_body, created_at) VALUES (?, ?, NULL, ?)",
+                key, requestHash, Timestamp.from(Instant.now()));
+
+        if (claimed == 0) return replay(key, requestHash);
+
+        // The order and its stored response commit together, so a crash in between can never
+        // leave a created order behind a key that a retry would treat as abandoned.
+        OrderDTO result;
+        try {
+            result = transactionTemplate.execute(status -> {
+                OrderDTO created = action.get();
+                jdbcTemplate.update("UPDATE idempotency_keys SET response_body = ? WHERE idempotency_key = ?",
+                        toJson(created), key);
+                return created;
+            });
+        } catch (RuntimeException e) {
+            jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ?", key);
+            throw e;
+        }
+
+        responses.put(key, new StoredResponse(requestHash, result));
+
+        return result;
+    }
+
+    private OrderDTO replay(String key, String requestHash) {
+
+        List<StoredResponse> rows = jdbcTemplate.query(
+                "SELECT request_hash, response_body FROM idempotency_keys WHERE idempotency_key = ?",
+                (rs, rowNum) -> new StoredResponse(rs.getString("request_hash"), fromJson(rs.getString("response_body"))),
+                key);
+
+        if (rows.isEmpty() || rows.get(0).response() == null) {
+            throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed.");
+        }
+
+        StoredResponse stored = rows.get(0);
+        responses.put(key, stored);
+        return replay(stored, requestHash);
+    }
+
+    private OrderDTO replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) throw reused();
+
+        logger.info("Replaying an idempotent order creation.");
+        return stored.response();
+    }
+
+    private OrderDTO await(CompletableFuture<OrderDTO> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private IdempotencyKeyReusedException reused() {
+        return new IdempotencyKeyReusedException("This Idempotency-Key was already used with a different request.");
+    }
+
+    private String hash(OrderDTO request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(toJson(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(OrderDTO order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private OrderDTO fromJson(String json) {
+        if (json == null) return null;
+        try {
+            return objectMapper.readValue(json, OrderDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record StoredResponse(String requestHash, OrderDTO response) {}
+
+    private record InFlight(String requestHash, CompletableFuture<OrderDTO> result) {}
+}
@@ -0,0 +1,163 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.dto.OrderBatchItemDTO;
+import br.com.orderservice.dto.OrderBatchResultDTO;
+import br.com.orderservice.dto.OrderDTO;
+import br.com.orderservice.dto.OrderProductDTO;
+import br.com.orderservice.exceptions.BatchLimitExceededException;
+import br.com.orderservice.exceptions.RequiredObjectIsNullException;
+import br.com.orderservice.infra.metrics.OrderMetrics;
+import br.com.orderservice.model.Order;
+import br.com.orderservice.model.Product;
+import br.com.orderservice.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+@Service
+@Timed(value = "orderservice.service", percentiles = {0.5, 0.95, 0.99})
+public class OrderBatchService {
+
+    private Logger logger = Logger.getLogger(OrderBatchService.class.getName());
+
+    @Value("${order.batch.max-size:500}")
+    int maxBatchSize;
+
+    @Value("${order.batch.chunk-size:50}")
+    int chunkSize;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    OrderMetrics orderMetrics;
+
+    @Autowired
+    OrderStatisticsService orderStatisticsService;
+
+    public OrderBatchResultDTO createOrders(List<OrderDTO> orders) {
+
+        if (orders == null || orders.isEmpty()) throw new RequiredObjectIsNullException();
+        if (orders.size() > maxBatchSize) {
+            throw new BatchLimitExceededException("A batch accepts at most " + maxBatchSize + " orders.");
+        }
+
+        logger.info("Creating a batch of " + orders.size() + " orders.");
+
+        OrderBatchItemDTO[] results = new OrderBatchItemDTO[orders.size()];
+
+        List<Integer> validIndexes = new ArrayList<>();
+        Set<Long> productIds = new HashSet<>();
+        for (int i = 0; i < orders.size(); i++) {
+            List<String> errors = validate(orders.get(i));
+            if (errors.isEmpty()) {
+                validIndexes.add(i);
+                productIds.addAll(orderService.productIdsOf(orders.get(i)));
+            } else {
+                results[i] = OrderBatchItemDTO.failed(i, errors);
+            }
+        }
+
+        Map<Long, Product> productsById = orderService.findProductsById(productIds);
+
+        List<Integer> pendingIndexes = new ArrayList<>();
+        for (int i : validIndexes) {
+            List<Long> missingIds = orderService.missingProductIds(orders.get(i), productsById);
+            if (missingIds.isEmpty()) {
+                pendingIndexes.add(i);
+            } else {
+                results[i] = OrderBatchItemDTO.failed(i, List.of("Products with ids " + missingIds + " do not exist."));
+            }
+        }
+
+        for (int from = 0; from < pendingIndexes.size(); from += chunkSize) {
+            List<Integer> chunk = pendingIndexes.subList(from, Math.min(from + chunkSize, pendingIndexes.size()));
+            persistChunk(chunk, orders, productsById, results);
+        }
+
+        List<OrderBatchItemDTO> items = Arrays.asList(results);
+        int created = (int) items.stream().filter(OrderBatchItemDTO::isCreated).count();
+
+        return new OrderBatchResultDTO(created, items.size() - created, items);
+    }
+
+    private void persistChunk(List<Integer> chunk, List<OrderDTO> orders,
+                              Map<Long, Product> productsById, OrderBatchItemDTO[] results) {
+        try {
+            List<Order> saved = transactionTemplate.execute(status -> {
+                List<Order> created = orderRepository.saveAll(
+                        chunk.stream().map(i -> orderService.buildOrder(orders.get(i), productsById)).toList());
+                created.forEach(order -> orderStatisticsService.recordCreated(order.getStatus(),
+                        order.getCreatedDate(), order.getTotalValue()));
+                return created;
+            });
+
+            for (int k = 0; k < chunk.size(); k++) {
+                results[chunk.get(k)] = OrderBatchItemDTO.created(chunk.get(k), saved.get(k).getId());
+                orderMetrics.recordCreated(saved.get(k).getProducts().size());
+            }
+        } catch (RuntimeException chunkFailure) {
+            logger.warning("Batch chunk failed, retrying its orders one by one: " + chunkFailure.getMessage());
+
+            for (int i : chunk) {
+                try {
+                    Order saved = transactionTemplate.execute(status -> {
+                        Order created = orderRepository.save(orderService.buildOrder(orders.get(i), productsById));
+                        orderStatisticsService.recordCreated(created.getStatus(), created.getCreatedDate(),
+                                created.getTotalValue());
+                        return created;
+                    });
+                    results[i] = OrderBatchItemDTO.created(i, saved.getId());
+                    orderMetrics.recordCreated(saved.getProducts().size());
+                } catch (RuntimeException e) {
+                    results[i] = OrderBatchItemDTO.failed(i, List.of(e.getMessage()));
+                }
+            }
+        }
+    }
+
+    private List<String> validate(OrderDTO order) {
+        if (order == null) return List.of("Cannot persist a null object!");
+
+        List<String> errors = new ArrayList<>(validator.validate(order).stream()
+                .map(ConstraintViolation::getMessage)
+                .toList());
+
+        if (order.getProducts() == null || order.getProducts().isEmpty()) {
+            errors.add("An order must have at least one product.");
+            return errors;
+        }
+
+        for (OrderProductDTO orderProduct : order.getProducts()) {
+            errors.addAll(validator.validate(orderProduct).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .toList());
+            if (orderProduct.getProduct() != null && orderProduct.getProduct().getId() == null) {
+                errors.add("It is necessary for a product of an order to have an id.");
+            }
+        }
+
+        return errors;
+    }
+}
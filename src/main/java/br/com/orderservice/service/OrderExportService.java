@@ -0,0 +1,110 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.dto.OrderDTO;
+import br.com.orderservice.dto.OrderProductDTO;
+import br.com.orderservice.dto.OrderSearchDTO;
+import br.com.orderservice.dto.ProductDTO;
+import br.com.orderservice.enums.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.logging.Logger;
+
+@Service
+public class OrderExportService {
+
+    private static final String CSV_HEADER = "order_id,client_name,phone_number,address,created_date,total_value,status," +
+            "line_id,quantity,product_id,sku,product_name,product_value";
+
+    private Logger logger = Logger.getLogger(OrderExportService.class.getName());
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${order.export.chunk-size:500}")
+    int chunkSize;
+
+    @Timed(value = "orderservice.order.export", percentiles = {0.5, 0.95, 0.99})
+    public void export(OrderSearchDTO search, ExportFormat format, OutputStream out) throws IOException {
+
+        logger.info("Exporting orders as " + format + ".");
+
+        // Each chunk is read in its own short transaction and written before the next one is
+        // fetched, so a slow client blocks the loop on the socket instead of piling up rows.
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) writer.write(CSV_HEADER + "\n");
+
+        Long lastId = 0L;
+        List<OrderDTO> orders = orderService.findOrdersForExport(search, lastId, chunkSize);
+
+        while (!orders.isEmpty()) {
+            for (OrderDTO order : orders) {
+                if (format == ExportFormat.CSV) writeCsv(writer, order);
+                else writeJson(writer, order);
+            }
+            writer.flush();
+
+            lastId = orders.get(orders.size() - 1).getId();
+            orders = orders.size() < chunkSize
+                    ? List.of()
+                    : orderService.findOrdersForExport(search, lastId, chunkSize);
+        }
+
+        writer.flush();
+    }
+
+    private void writeJson(Writer writer, OrderDTO order) throws IOException {
+        writer.write(objectMapper.writeValueAsString(order));
+        writer.write('\n');
+    }
+
+    private void writeCsv(Writer writer, OrderDTO order) throws IOException {
+        String orderColumns = String.join(",",
+                String.valueOf(order.getId()),
+                csv(order.getClientName()),
+                csv(order.getPhoneNumber()),
+                csv(order.getAddress()),
+                order.getCreatedDate() == null ? "" : order.getCreatedDate().toInstant().toString(),
+                order.getTotalValue() == null ? "" : order.getTotalValue().toPlainString(),
+                order.getStatus() == null ? "" : order.getStatus().name());
+
+        if (order.getProducts().isEmpty()) {
+            writer.write(orderColumns + ",,,,,,\n");
+            return;
+        }
+
+        for (OrderProductDTO line : order.getProducts()) {
+            ProductDTO product = line.getProduct();
+            writer.write(String.join(",",
+                    orderColumns,
+                    String.valueOf(line.getId()),
+                    line.getQuantity() == null ? "" : line.getQuantity().toString(),
+                    product == null ? "" : String.valueOf(product.getId()),
+                    product == null ? "" : csv(product.getSku()),
+                    product == null ? "" : csv(product.getName()),
+                    product == null || product.getValue() == null ? "" : product.getValue().toPlainString()));
+            writer.write('\n');
+        }
+    }
+
+    private String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
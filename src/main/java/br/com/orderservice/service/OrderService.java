@@ -1,12 +1,20 @@
 package br.com.orderservice.service;
 
+import br.com.orderservice.cache.ProductCache;
+import br.com.orderservice.dto.CursorPageDTO;
 import br.com.orderservice.dto.OrderDTO;
 import br.com.orderservice.dto.OrderForStatusDTO;
 import br.com.orderservice.dto.OrderProductDTO;
+import br.com.orderservice.dto.OrderSearchDTO;
+import br.com.orderservice.dto.OrderStatusTransitionDTO;
 import br.com.orderservice.enums.Status;
+import br.com.orderservice.enums.TransitionOutcome;
+import br.com.orderservice.exceptions.BatchLimitExceededException;
 import br.com.orderservice.exceptions.OrderCanceledException;
+import br.com.orderservice.exceptions.PreconditionFailedException;
 import br.com.orderservice.exceptions.RequiredObjectIsNullException;
 import br.com.orderservice.exceptions.ResourceNotFoundException;
+import br.com.orderservice.infra.metrics.OrderMetrics;
 import br.com.orderservice.mappers.OrderForStatusMapper;
 import br.com.orderservice.mappers.OrderMapper;
 import br.com.orderservice.mappers.ProductMapper;
@@ -15,19 +23,39 @@ import br.com.orderservice.model.OrderProduct;
 import br.com.orderservice.model.Product;
 import br.com.orderservice.repository.OrderRepository;
 import br.com.orderservice.repository.ProductRepository;
-import org.aspectj.weaver.ast.Or;
+import br.com.orderservice.util.CursorCodec;
+import br.com.orderservice.util.EntityTags;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "orderservice.service", percentiles = {0.5, 0.95, 0.99})
 public class OrderService {
 
     private Logger logger = Logger.getLogger(OrderService.class.getName());
@@ -47,15 +75,91 @@ public class OrderService {
     @Autowired
     OrderForStatusMapper orderForStatusMapper;
 
+    @Autowired
+    StockReservationService stockReservationService;
+
+    @Autowired
+    ProductCache productCache;
+
+    @Autowired
+    OrderMetrics orderMetrics;
+
+    @Autowired
+    OrderStatisticsService orderStatisticsService;
+
+    @Value("${order.batch.max-size:500}")
+    int maxBatchSize;
+
+    @Transactional(readOnly = true)
     public Page<OrderDTO> findAllOrders(Pageable pageable) {
 
         logger.info("Finding all orders.");
 
-        return orderRepository
-                .findAll(pageable)
-                .map(order -> orderMapper.toOrderDTO(order));
+        Page<Long> ids = orderRepository.findPageOfIds(pageable);
+
+        if (ids.isEmpty()) return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+
+        Map<Long, OrderDTO> ordersById = orderMapper.toOrderDTOMap(
+                orderRepository.findOrderLinesByIdIn(ids.getContent()));
+
+        return ids.map(ordersById::get);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<OrderDTO> findOrdersAfter(String after, int size) {
+
+        logger.info("Finding orders after cursor.");
+
+        List<Long> ids = orderRepository.findIdsAfter(CursorCodec.decode(after), PageRequest.of(0, size + 1));
+
+        boolean hasNext = ids.size() > size;
+        if (hasNext) ids = ids.subList(0, size);
+
+        if (ids.isEmpty()) return new CursorPageDTO<>(List.of(), 0, false, null);
+
+        Map<Long, OrderDTO> ordersById = orderMapper.toOrderDTOMap(orderRepository.findOrderLinesByIdIn(ids));
+        List<OrderDTO> orders = ids.stream().map(ordersById::get).toList();
+
+        String next = hasNext ? CursorCodec.encode(ids.get(ids.size() - 1)) : null;
+
+        return new CursorPageDTO<>(orders, orders.size(), hasNext, next);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<OrderDTO> searchOrders(OrderSearchDTO search, Pageable pageable) {
+
+        logger.info("Searching orders.");
+
+        Slice<Long> ids = orderRepository.searchIds(search, pageable);
+
+        if (ids.isEmpty()) return new SliceImpl<>(List.of(), pageable, false);
+
+        Map<Long, OrderDTO> ordersById = orderMapper.toOrderDTOMap(orderRepository.findOrderLinesByIdIn(ids.getContent()));
+
+        return ids.map(ordersById::get);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderDTO> findOrdersForExport(OrderSearchDTO search, Long afterId, int size) {
+
+        List<Long> ids = orderRepository.searchIdsAfter(search, afterId, size);
+
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, OrderDTO> ordersById = orderMapper.toOrderDTOMap(orderRepository.findOrderLinesByIdIn(ids));
+
+        return ids.stream().map(ordersById::get).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public String findOrderTag(Long id) {
+
+        return orderRepository.findVersionById(id)
+                .map(EntityTags::of)
+                .orElseThrow(() -> new ResourceNotFoundException("No order for this id!"));
+    }
+
+    @Transactional(readOnly = true)
     public OrderDTO findOrderById(Long id) {
 
         logger.info("Finding an order.");
@@ -66,133 +170,209 @@ public class OrderService {
         return orderMapper.toOrderDTO(order);
     }
 
+    @Transactional
     public OrderDTO createOrder(OrderDTO orderDTO) {
 
         logger.info("creating an order.");
 
-        Order order = new Order();
+        Map<Long, Product> productsById = findProductsById(productIdsOf(orderDTO));
+
+        List<Long> missingIds = missingProductIds(orderDTO, productsById);
+        if (!missingIds.isEmpty()) {
+            throw new ResourceNotFoundException("Products with ids " + missingIds + " do not exist.");
+        }
+
+        Order savedOrder = orderRepository.save(buildOrder(orderDTO, productsById));
+        orderMetrics.recordCreated(savedOrder.getProducts().size());
+        orderStatisticsService.recordCreated(savedOrder.getStatus(), savedOrder.getCreatedDate(), savedOrder.getTotalValue());
+
+        return orderMapper.toOrderDTO(savedOrder);
+    }
+
+    private Status nextStatus(Status status) {
+        return switch (status) {
+            case EVALUATION -> Status.PREPARATION;
+            case PREPARATION -> Status.READY;
+            case READY -> Status.DELIVERY;
+            case DELIVERY -> Status.CONCLUDED;
+            case CANCELED -> throw new OrderCanceledException("The order has been canceled");
+            default -> throw new IllegalStateException("Unexpected status: " + status);
+        };
+    }
+
+    public Map<Long, Product> findProductsById(Collection<Long> productIds) {
+        return productCache.getAll(productIds).values().stream()
+                .map(productMapper::toProduct)
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
 
-        order = orderMapper.toOrder(orderDTO);
+    public Set<Long> productIdsOf(OrderDTO orderDTO) {
+        return orderDTO.getProducts().stream()
+                .map(orderProductDTO -> orderProductDTO.getProduct().getId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    public List<Long> missingProductIds(OrderDTO orderDTO, Map<Long, Product> productsById) {
+        return productIdsOf(orderDTO).stream()
+                .filter(productId -> !productsById.containsKey(productId))
+                .toList();
+    }
+
+    public Order buildOrder(OrderDTO orderDTO, Map<Long, Product> productsById) {
+
+        Order order = orderMapper.toOrder(orderDTO);
 
         order.setProducts(new ArrayList<>());
 
         BigDecimal totalValue = BigDecimal.ZERO;
 
         for (OrderProductDTO orderProductDTO : orderDTO.getProducts()) {
-            Long productId = orderProductDTO.getProduct().getId();
-            Optional<Product> productOpt = productRepository.findById(productId);
-
-            if (!productOpt.isPresent()) {
-                throw new ResourceNotFoundException("Product with id " + productId + " does not exist.");
-            } else {
-                OrderProduct orderProduct = new OrderProduct();
-                orderProduct.setQuantity(orderProductDTO.getQuantity());
-                Product product = productOpt.get();
-                orderProduct.setProduct(product);
-                orderProduct.setOrder(order);
-
-                BigDecimal productTotal = product.getValue().multiply(BigDecimal.valueOf(orderProductDTO.getQuantity()));
-                totalValue = totalValue.add(productTotal);
-
-                order.setTotalValue(totalValue);
-                order.setStatus(Status.EVALUATION);
-                order.getProducts().add(orderProduct);
-            }
+            Product product = productsById.get(orderProductDTO.getProduct().getId());
+
+            OrderProduct orderProduct = new OrderProduct();
+            orderProduct.setQuantity(orderProductDTO.getQuantity());
+            orderProduct.setProduct(product);
+            orderProduct.setOrder(order);
+
+            BigDecimal productTotal = product.getValue().multiply(BigDecimal.valueOf(orderProductDTO.getQuantity()));
+            totalValue = totalValue.add(productTotal);
+
+            order.getProducts().add(orderProduct);
         }
 
-        Order savedOrder = orderRepository.save(order);
+        order.setTotalValue(totalValue);
+        order.setStatus(Status.EVALUATION);
 
-        return orderMapper.toOrderDTO(savedOrder);
+        return order;
     }
 
-    public OrderDTO updateOrder(Long id, OrderDTO orderDTO) {
+    @Transactional
+    public OrderDTO updateOrder(Long id, OrderDTO orderDTO, Long expectedVersion) {
 
         if (orderDTO == null) throw new RequiredObjectIsNullException();
 
         logger.info("Updating a order.");
 
-        Order order = update(id, orderDTO);
+        Order order = update(id, orderDTO, expectedVersion);
 
-        return orderMapper.toOrderDTO(orderRepository.save(order));
+        return orderMapper.toOrderDTO(orderRepository.saveAndFlush(order));
     }
 
+    @Retryable(retryFor = {OptimisticLockingFailureException.class, PessimisticLockingFailureException.class},
+            maxAttempts = 4, backoff = @Backoff(delay = 20, multiplier = 2, random = true))
+    @Transactional
     public OrderForStatusDTO updateOrderStatus(OrderForStatusDTO orderDTO) {
 
         Order order = orderRepository.findById(orderDTO.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("No order for this ID!"));
 
-        switch (order.getStatus()) {
-            case EVALUATION -> {
-                if (checkProductAvailability(order)) {
-                    order.setStatus(Status.PREPARATION);
-                } else {
-                    order.setStatus(Status.CANCELED);
-                }
-                break;
-            }
-            case CANCELED -> {
-                throw new OrderCanceledException("The order has been canceled");
-            }
-            case PREPARATION -> {
-                order.setStatus(Status.READY);
-                break;
-            }
-            case READY -> {
-                order.setStatus(Status.DELIVERY);
-                decrementProductQuantities(order);
-                break;
-            }
-            case DELIVERY -> {
-                order.setStatus(Status.CONCLUDED);
-                break;
-            }
-            default -> {
-                throw new IllegalStateException("Unexpected status: " + order.getStatus());
-            }
+        Status nextStatus = nextStatus(order.getStatus());
+        if (order.getStatus() == Status.EVALUATION && !stockReservationService.reserve(order)) {
+            nextStatus = Status.CANCELED;
         }
+        orderMetrics.recordTransition(order.getStatus(), nextStatus);
+        orderStatisticsService.recordTransition(order.getStatus(), nextStatus, order.getCreatedDate(), order.getTotalValue());
+        order.setStatus(nextStatus);
 
         Order updatedOrderStatus = orderRepository.save(order);
 
         return orderForStatusMapper.toOrderForStatusDTO(updatedOrderStatus);
     }
 
+    @Retryable(retryFor = {OptimisticLockingFailureException.class, PessimisticLockingFailureException.class},
+            maxAttempts = 4, backoff = @Backoff(delay = 20, multiplier = 2, random = true))
+    @Transactional
+    public List<OrderStatusTransitionDTO> updateOrderStatuses(List<Long> ids) {
+
+        if (ids == null || ids.isEmpty()) throw new RequiredObjectIsNullException();
+        if (ids.size() > maxBatchSize) {
+            throw new BatchLimitExceededException("A batch accepts at most " + maxBatchSize + " orders.");
+        }
+
+        logger.info("Updating the status of " + ids.size() + " orders.");
+
+        Map<Long, Order> ordersById = orderRepository.findAllWithProductsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity(), (first, second) -> first));
+
+        Map<Long, OrderStatusTransitionDTO> results = new LinkedHashMap<>();
+        Map<Long, Status> nextStatuses = new LinkedHashMap<>();
+        List<Order> toEvaluate = new ArrayList<>();
+
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Order order = ordersById.get(id);
+            if (order == null) {
+                results.put(id, new OrderStatusTransitionDTO(id, null, null,
+                        TransitionOutcome.REJECTED, "No order for this ID!"));
+                continue;
+            }
+
+            try {
+                nextStatuses.put(id, nextStatus(order.getStatus()));
+                if (order.getStatus() == Status.EVALUATION) toEvaluate.add(order);
+                results.put(id, null);
+            } catch (RuntimeException e) {
+                results.put(id, new OrderStatusTransitionDTO(id, order.getStatus(), order.getStatus(),
+                        TransitionOutcome.REJECTED, e.getMessage()));
+            }
+        }
+
+        Set<Long> reserved = stockReservationService.reserveAll(toEvaluate);
+
+        nextStatuses.forEach((id, nextStatus) -> {
+            Order order = ordersById.get(id);
+            Status previousStatus = order.getStatus();
+
+            boolean canceled = previousStatus == Status.EVALUATION && !reserved.contains(id);
+            order.setStatus(canceled ? Status.CANCELED : nextStatus);
+            orderMetrics.recordTransition(previousStatus, order.getStatus());
+            orderStatisticsService.recordTransition(previousStatus, order.getStatus(),
+                    order.getCreatedDate(), order.getTotalValue());
+
+            results.put(id, new OrderStatusTransitionDTO(id, previousStatus, order.getStatus(),
+                    canceled ? TransitionOutcome.CANCELED : TransitionOutcome.ADVANCED,
+                    canceled ? "Insufficient stock." : null));
+        });
+
+        orderRepository.saveAll(ordersById.values());
+
+        return new ArrayList<>(results.values());
+    }
+
+    @Transactional
     public void deleteOrder(Long id) {
         logger.info("Deleting a order.");
 
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("No order for this ID!"));
 
+        // Stock leaves the shelf when the order enters PREPARATION and is only consumed on delivery.
+        if (order.getStatus() == Status.PREPARATION || order.getStatus() == Status.READY) {
+            stockReservationService.release(order);
+        }
+
         orderRepository.delete(order);
+
+        orderStatisticsService.recordDeleted(order.getStatus(), order.getCreatedDate(), order.getTotalValue());
     }
 
-    public Order update(Long id, OrderDTO orderDTO) {
+    public Order update(Long id, OrderDTO orderDTO, Long expectedVersion) {
 
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("No order for this id!"));
 
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new PreconditionFailedException("The order has changed since it was read!");
+        }
+
+        Date previousDate = order.getCreatedDate();
+
         order.setClientName(orderDTO.getClientName());
         order.setPhoneNumber(orderDTO.getPhoneNumber());
         order.setAddress(orderDTO.getAddress());
         order.setCreatedDate(orderDTO.getCreatedDate());
 
-        return order;
-    }
-
-    private boolean checkProductAvailability(Order order) {
-        for(OrderProduct orderProduct : order.getProducts()) {
-            Product product = orderProduct.getProduct();
-            if (product.getQuantity() < orderProduct.getQuantity()) {
-                return false;
-            }
-        }
-        return true;
-    }
+        orderStatisticsService.recordDateChanged(order.getStatus(), previousDate, order.getCreatedDate(), order.getTotalValue());
 
-    private void decrementProductQuantities(Order order) {
-        for (OrderProduct orderProduct : order.getProducts()) {
-            Product product = orderProduct.getProduct();
-            product.setQuantity(product.getQuantity() - orderProduct.getQuantity());
-            productRepository.save(product);
-        }
+        return order;
     }
 }
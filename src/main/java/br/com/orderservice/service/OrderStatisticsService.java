@@ -0,0 +1,295 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.dto.OrderStatisticsDTO;
+import br.com.orderservice.enums.Status;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+@Service
+public class OrderStatisticsService {
+
+    private Logger logger = Logger.getLogger(OrderStatisticsService.class.getName());
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Value("${statistics.dashboard-days:30}")
+    int dashboardDays;
+
+    @Value("${statistics.zone-id:UTC}")
+    ZoneId zone;
+
+    private final Map<Status, LongAdder> ordersByStatus = new EnumMap<>(Status.class);
+
+    private final Map<LocalDate, DailyTotals> dailyTotals = new ConcurrentHashMap<>();
+
+    private final LongAdder billedOrders = new LongAdder();
+
+    private final LongAdder revenueCents = new LongAdder();
+
+    // Updates are in flight from the moment a transaction records them until it completes, and are
+    // applied under the read lock. reconcile() only corrects the counters when no update was in flight
+    // or applied while it read the database, so a committed order is never counted twice or dropped.
+    private final ReentrantReadWriteLock updates = new ReentrantReadWriteLock();
+
+    private final AtomicInteger updatesInFlight = new AtomicInteger();
+
+    private final AtomicLong updatesApplied = new AtomicLong();
+
+    public OrderStatisticsService() {
+        for (Status status : Status.values()) {
+            ordersByStatus.put(status, new LongAdder());
+        }
+    }
+
+    public void recordCreated(Status status, Date createdDate, BigDecimal totalValue) {
+        afterCommit(() -> {
+            ordersByStatus.get(status).increment();
+            bill(status, createdDate, totalValue, 1);
+        });
+    }
+
+    public void recordTransition(Status from, Status to, Date createdDate, BigDecimal totalValue) {
+        afterCommit(() -> {
+            ordersByStatus.get(from).decrement();
+            ordersByStatus.get(to).increment();
+            bill(from, createdDate, totalValue, -1);
+            bill(to, createdDate, totalValue, 1);
+        });
+    }
+
+    public void recordDeleted(Status status, Date createdDate, BigDecimal totalValue) {
+        afterCommit(() -> {
+            ordersByStatus.get(status).decrement();
+            bill(status, createdDate, totalValue, -1);
+        });
+    }
+
+    public void recordDateChanged(Status status, Date previousDate, Date createdDate, BigDecimal totalValue) {
+        if (Objects.equals(day(previousDate), day(createdDate))) return;
+        afterCommit(() -> {
+            bill(status, previousDate, totalValue, -1);
+            bill(status, createdDate, totalValue, 1);
+        });
+    }
+
+    public OrderStatisticsDTO snapshot() {
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        ordersByStatus.forEach((status, count) -> byStatus.put(status, count.sum()));
+
+        Map<LocalDate, BigDecimal> revenueByDay = new LinkedHashMap<>();
+        LocalDate today = LocalDate.now(zone);
+        for (int i = dashboardDays - 1; i >= 0; i--) {
+            LocalDate day = today.minusDays(i);
+            DailyTotals totals = dailyTotals.get(day);
+            revenueByDay.put(day, totals == null ? BigDecimal.ZERO.setScale(2) : toMoney(totals.revenueCents.sum()));
+        }
+
+        long billed = billedOrders.sum();
+        BigDecimal revenue = toMoney(revenueCents.sum());
+        BigDecimal averageTicket = billed == 0
+                ? BigDecimal.ZERO.setScale(2)
+                : revenue.divide(BigDecimal.valueOf(billed), 2, RoundingMode.HALF_UP);
+
+        return new OrderStatisticsDTO(byStatus, revenueByDay, billed, revenue, averageTicket);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        jdbcTemplate.query("SELECT status, orders FROM order_status_totals", rs -> {
+            ordersByStatus.get(Status.valueOf(rs.getString("status"))).add(rs.getLong("orders"));
+        });
+        jdbcTemplate.query("SELECT day, orders, revenue FROM order_daily_totals", rs -> {
+            DailyTotals totals = dailyTotals.computeIfAbsent(rs.getDate("day").toLocalDate(), d -> new DailyTotals());
+            totals.orders.add(rs.getLong("orders"));
+            totals.revenueCents.add(toCents(rs.getBigDecimal("revenue")));
+            billedOrders.add(rs.getLong("orders"));
+            revenueCents.add(toCents(rs.getBigDecimal("revenue")));
+        });
+
+        logger.info("Restored order statistics from the summary tables.");
+    }
+
+    @Scheduled(fixedDelayString = "${statistics.persist-interval-ms:60000}",
+            initialDelayString = "${statistics.persist-interval-ms:60000}")
+    public void persist() {
+        List<Object[]> statusRows = new ArrayList<>();
+        ordersByStatus.forEach((status, count) -> statusRows.add(new Object[]{status.name(), count.sum()}));
+
+        List<Object[]> dailyRows = new ArrayList<>();
+        dailyTotals.forEach((day, totals) -> dailyRows.add(
+                new Object[]{java.sql.Date.valueOf(day), totals.orders.sum(), toMoney(totals.revenueCents.sum())}));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM order_status_totals");
+            jdbcTemplate.update("DELETE FROM order_daily_totals");
+            jdbcTemplate.batchUpdate("INSERT INTO order_status_totals (status, orders) VALUES (?, ?)", statusRows);
+            jdbcTemplate.batchUpdate("INSERT INTO order_daily_totals (day, orders, revenue) VALUES (?, ?, ?)", dailyRows);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${statistics.reconcile-interval-ms:3600000}", initialDelay = 10000)
+    public void reconcile() {
+        boolean quiet = updatesInFlight.get() == 0;
+        long applied = updatesApplied.get();
+
+        Map<Status, Long> expectedByStatus = new EnumMap<>(Status.class);
+        jdbcTemplate.query("SELECT status, COUNT(*) AS orders FROM orders GROUP BY status", rs -> {
+            expectedByStatus.put(Status.valueOf(rs.getString("status")), rs.getLong("orders"));
+        });
+
+        // DATE() would bucket in the MySQL session zone. Grouping into quarter hours and reading each
+        // bucket back through the driver gives instants that day() can place in the configured zone,
+        // exactly like the live counters, whatever zone the server or the JVM runs in.
+        Map<LocalDate, long[]> expectedDaily = new HashMap<>();
+        jdbcTemplate.query("SELECT TIMESTAMPADD(MINUTE, (MINUTE(created_date) DIV 15) * 15, " +
+                "DATE_FORMAT(created_date, '%Y-%m-%d %H:00:00')) AS bucket, " +
+                "COUNT(*) AS orders, SUM(total_value) AS revenue " +
+                "FROM orders WHERE status <> 'CANCELED' GROUP BY bucket", rs -> {
+            long[] totals = expectedDaily.computeIfAbsent(day(rs.getTimestamp("bucket")), d -> new long[2]);
+            totals[0] += rs.getLong("orders");
+            totals[1] += toCents(rs.getBigDecimal("revenue"));
+        });
+
+        updates.writeLock().lock();
+        try {
+            if (!quiet || updatesInFlight.get() != 0 || updatesApplied.get() != applied) {
+                logger.info("Orders were written while the statistics were being reconciled; retrying on the next run.");
+                return;
+            }
+
+            if (correct(expectedByStatus, expectedDaily)) {
+                logger.warning("Order statistics drifted from the database and were corrected.");
+            } else {
+                logger.info("Order statistics match the database.");
+            }
+        } finally {
+            updates.writeLock().unlock();
+        }
+    }
+
+    private boolean correct(Map<Status, Long> expectedByStatus, Map<LocalDate, long[]> expectedDaily) {
+        boolean drifted = false;
+        for (Status status : Status.values()) {
+            long expected = expectedByStatus.getOrDefault(status, 0L);
+            LongAdder counter = ordersByStatus.get(status);
+            if (counter.sum() != expected) {
+                drifted = true;
+                counter.add(expected - counter.sum());
+            }
+        }
+
+        dailyTotals.keySet().removeIf(day -> !expectedDaily.containsKey(day));
+        long expectedBilled = 0;
+        long expectedRevenue = 0;
+        for (Map.Entry<LocalDate, long[]> entry : expectedDaily.entrySet()) {
+            DailyTotals totals = dailyTotals.computeIfAbsent(entry.getKey(), d -> new DailyTotals());
+            long[] expected = entry.getValue();
+            if (totals.orders.sum() != expected[0] || totals.revenueCents.sum() != expected[1]) {
+                drifted = true;
+                totals.orders.add(expected[0] - totals.orders.sum());
+                totals.revenueCents.add(expected[1] - totals.revenueCents.sum());
+            }
+            expectedBilled += expected[0];
+            expectedRevenue += expected[1];
+        }
+        if (billedOrders.sum() != expectedBilled || revenueCents.sum() != expectedRevenue) {
+            drifted = true;
+            billedOrders.add(expectedBilled - billedOrders.sum());
+            revenueCents.add(expectedRevenue - revenueCents.sum());
+        }
+        return drifted;
+    }
+
+    private void bill(Status status, Date createdDate, BigDecimal totalValue, int sign) {
+        if (status == Status.CANCELED || createdDate == null || totalValue == null) return;
+
+        long cents = toCents(totalValue) * sign;
+        DailyTotals totals = dailyTotals.computeIfAbsent(day(createdDate), d -> new DailyTotals());
+        totals.orders.add(sign);
+        totals.revenueCents.add(cents);
+        billedOrders.add(sign);
+        revenueCents.add(cents);
+    }
+
+    private LocalDate day(Date date) {
+        if (date == null) return null;
+        return Instant.ofEpochMilli(date.getTime()).atZone(zone).toLocalDate();
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value == null ? 0 : value.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal toMoney(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+
+        updatesInFlight.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                updatesInFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private void apply(Runnable update) {
+        updates.readLock().lock();
+        try {
+            update.run();
+            updatesApplied.incrementAndGet();
+        } finally {
+            updates.readLock().unlock();
+        }
+    }
+
+    private static class DailyTotals {
+
+        private final LongAdder orders = new LongAdder();
+
+        private final LongAdder revenueCents = new LongAdder();
+    }
+}
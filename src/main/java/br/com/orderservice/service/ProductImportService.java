@@ -0,0 +1,215 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.cache.ProductCache;
+import br.com.orderservice.dto.ProductImportResultDTO;
+import br.com.orderservice.exceptions.RequiredObjectIsNullException;
+import br.com.orderservice.model.Product;
+import br.com.orderservice.repository.ProductRepository;
+import br.com.orderservice.search.ProductSearchIndex;
+import br.com.orderservice.util.CsvReader;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+@Service
+public class ProductImportService {
+
+    private static final List<String> COLUMNS = List.of("sku", "name", "description", "value", "quantity");
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO product (sku, name, description, value, quantity) VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE name = VALUES(name), description = VALUES(description), " +
+            "value = VALUES(value), quantity = VALUES(quantity), version = version + 1";
+
+    private Logger logger = Logger.getLogger(ProductImportService.class.getName());
+
+    @Value("${product.import.batch-size:500}")
+    int batchSize;
+
+    @Value("${product.import.max-reported-errors:1000}")
+    int maxReportedErrors;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    ProductCache productCache;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    ProductSearchIndex productSearchIndex;
+
+    public ProductImportResultDTO importProducts(InputStream csv) throws IOException {
+
+        logger.info("Importing products from CSV.");
+
+        ImportState state = new ImportState();
+
+        try (CsvReader reader = new CsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            List<String> header = reader.readRecord();
+            if (header == null) throw new RequiredObjectIsNullException("The CSV file is empty!");
+
+            int[] positions = columnPositions(header);
+
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            List<Integer> batchLines = new ArrayList<>(batchSize);
+
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                int line = reader.getLineNumber();
+                if (record.size() == 1 && record.get(0).isBlank()) continue;
+
+                state.rowsRead++;
+
+                try {
+                    Product product = toProduct(record, positions);
+                    List<String> violations = validator.validate(product).stream()
+                            .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                            .collect(Collectors.toList());
+
+                    if (!violations.isEmpty()) {
+                        state.fail(line, String.join(", ", violations));
+                        continue;
+                    }
+
+                    batch.add(new Object[]{product.getSku(), product.getName(), product.getDescription(),
+                            product.getValue(), product.getQuantity()});
+                    batchLines.add(line);
+                } catch (IllegalArgumentException e) {
+                    state.fail(line, e.getMessage());
+                    continue;
+                }
+
+                if (batch.size() >= batchSize) {
+                    flush(batch, batchLines, state);
+                }
+            }
+
+            flush(batch, batchLines, state);
+        }
+
+        return new ProductImportResultDTO(state.rowsRead, state.imported, state.failed,
+                state.errors, state.failed > state.errors.size());
+    }
+
+    private void flush(List<Object[]> batch, List<Integer> batchLines, ImportState state) {
+        if (batch.isEmpty()) return;
+
+        List<Object[]> committed = batch;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+                productCache.evictAll();
+            });
+            state.imported += batch.size();
+        } catch (RuntimeException batchFailure) {
+            logger.warning("Product import batch failed, retrying its rows one by one: " + batchFailure.getMessage());
+
+            committed = new ArrayList<>();
+            for (int k = 0; k < batch.size(); k++) {
+                Object[] row = batch.get(k);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(UPSERT_SQL, row));
+                    committed.add(row);
+                    state.imported++;
+                } catch (RuntimeException e) {
+                    state.fail(batchLines.get(k), "rejected by the database: " + e.getMessage());
+                }
+            }
+            if (!committed.isEmpty()) productCache.evictAll();
+        }
+
+        // The rows are committed at this point, so a failed refresh must not report them as rejected.
+        if (!committed.isEmpty()) {
+            try {
+                productSearchIndex.putAll(productRepository.findProjectedBySkuIn(
+                        committed.stream().map(row -> (String) row[0]).toList()));
+            } catch (RuntimeException e) {
+                logger.warning("Could not refresh the search index after an imported batch: " + e.getMessage());
+            }
+        }
+
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private int[] columnPositions(List<String> header) {
+        List<String> names = header.stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .toList();
+
+        int[] positions = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            positions[i] = names.indexOf(COLUMNS.get(i));
+            if (positions[i] < 0 && !COLUMNS.get(i).equals("description")) {
+                throw new RequiredObjectIsNullException("The CSV file must have a '" + COLUMNS.get(i) + "' column!");
+            }
+        }
+        return positions;
+    }
+
+    private Product toProduct(List<String> record, int[] positions) {
+        Product product = new Product();
+        product.setSku(field(record, positions[0]));
+        product.setName(field(record, positions[1]));
+        product.setDescription(field(record, positions[2]));
+
+        String value = field(record, positions[3]);
+        String quantity = field(record, positions[4]);
+        try {
+            product.setValue(value == null ? null : new BigDecimal(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("value '" + value + "' is not a number");
+        }
+        try {
+            product.setQuantity(quantity == null ? null : Integer.valueOf(quantity));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("quantity '" + quantity + "' is not an integer");
+        }
+        return product;
+    }
+
+    private String field(List<String> record, int position) {
+        if (position < 0 || position >= record.size()) return null;
+        String value = record.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private class ImportState {
+
+        private long rowsRead;
+
+        private long imported;
+
+        private long failed;
+
+        private final List<String> errors = new ArrayList<>();
+
+        private void fail(int line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) errors.add("line " + line + ": " + message);
+        }
+    }
+}
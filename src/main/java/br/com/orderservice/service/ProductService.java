@@ -1,20 +1,32 @@
 package br.com.orderservice.service;
 
+import br.com.orderservice.cache.ProductCache;
+import br.com.orderservice.dto.CacheStatsDTO;
+import br.com.orderservice.dto.CursorPageDTO;
 import br.com.orderservice.dto.ProductDTO;
+import br.com.orderservice.exceptions.PreconditionFailedException;
 import br.com.orderservice.exceptions.RequiredObjectIsNullException;
 import br.com.orderservice.exceptions.ResourceNotFoundException;
 import br.com.orderservice.mappers.ProductMapper;
 import br.com.orderservice.model.Product;
 import br.com.orderservice.repository.ProductRepository;
+import br.com.orderservice.search.ProductSearchIndex;
+import br.com.orderservice.util.CursorCodec;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.logging.Logger;
 
 @Service
+@Timed(value = "orderservice.service", percentiles = {0.5, 0.95, 0.99})
 public class ProductService {
 
     private Logger logger = Logger.getLogger(ProductService.class.getName());
@@ -25,51 +37,99 @@ public class ProductService {
     @Autowired
     ProductMapper productMapper;
 
+    @Autowired
+    ProductCache productCache;
+
+    @Autowired
+    ProductSearchIndex productSearchIndex;
+
+    public List<ProductDTO> searchProducts(String query, int limit) {
+
+        List<Long> ids = productSearchIndex.search(query, limit);
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, ProductDTO> productsById = productCache.getAll(ids);
+
+        return ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public CacheStatsDTO cacheStats() {
+        return productCache.stats();
+    }
+
+    @Transactional(readOnly = true)
     public Page<ProductDTO> findAllProducts(Pageable pageable) {
 
         logger.info("Finding all products.");
 
-        return productRepository
-                .findAll(pageable)
-                .map(product -> productMapper.toProductDTO(product));
+        return productRepository.findAllProjectedBy(pageable);
     }
 
-    public List<ProductDTO> findAllProductsForReport() {
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProductDTO> findProductsAfter(String after, int size) {
+
+        logger.info("Finding products after cursor.");
 
-        logger.info("Finding all products for report");
+        List<ProductDTO> products = productRepository.findProjectedAfter(
+                CursorCodec.decode(after), PageRequest.of(0, size + 1));
 
-        return productMapper.toProductDTOList(productRepository.findAll());
+        boolean hasNext = products.size() > size;
+        if (hasNext) products = products.subList(0, size);
+
+        String next = hasNext ? CursorCodec.encode(products.get(products.size() - 1).getId()) : null;
+
+        return new CursorPageDTO<>(products, products.size(), hasNext, next);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductDTO> findProductsForReport(Long afterId, int size) {
+
+        return productRepository.findProjectedAfter(afterId, PageRequest.of(0, size));
     }
 
     public ProductDTO findProductById(Long id) {
 
         logger.info("Finding a Product.");
 
-        Product product = productRepository.findById(id)
+        return productCache.get(id)
                 .orElseThrow(() -> new ResourceNotFoundException("No products for this id!"));
-
-        return productMapper.toProductDTO(product);
     }
 
+    @Transactional
     public ProductDTO saveProduct(ProductDTO productDTO) {
 
         logger.info("Saving a product.");
 
         Product product = productMapper.toProduct(productDTO);
-        return productMapper.toProductDTO(productRepository.save(product));
+        product.setVersion(null);
+        ProductDTO saved = productMapper.toProductDTO(productRepository.save(product));
+
+        productCache.put(saved);
+        productSearchIndex.put(saved);
+
+        return saved;
     }
 
-    public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
+    @Transactional
+    public ProductDTO updateProduct(Long id, ProductDTO productDTO, Long expectedVersion) {
 
         if (productDTO == null) throw new RequiredObjectIsNullException();
 
         logger.info("Updating a product.");
 
-        Product product = update(id, productDTO);
+        Product product = update(id, productDTO, expectedVersion);
+        ProductDTO updated = productMapper.toProductDTO(productRepository.saveAndFlush(product));
 
-        return productMapper.toProductDTO(productRepository.save(product));
+        productCache.evict(List.of(id));
+        productSearchIndex.put(updated);
+
+        return updated;
     }
 
+    @Transactional
     public void deleteProduct(Long id) {
         logger.info("Deleting a product.");
 
@@ -77,13 +137,20 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("No product for this ID!"));
 
         productRepository.delete(product);
+
+        productCache.evict(List.of(id));
+        productSearchIndex.remove(id);
     }
 
-    public Product update(Long id, ProductDTO productDTO) {
+    public Product update(Long id, ProductDTO productDTO, Long expectedVersion) {
 
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("No product for this id!"));
 
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw new PreconditionFailedException("The product has changed since it was read!");
+        }
+
         product.setName(productDTO.getName());
         product.setDescription(productDTO.getDescription());
         product.setValue(productDTO.getValue());
@@ -0,0 +1,182 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.cache.ProductCache;
+import br.com.orderservice.dto.ReportJobDTO;
+import br.com.orderservice.enums.ReportJobStatus;
+import br.com.orderservice.exceptions.ReportCapacityException;
+import br.com.orderservice.exceptions.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@Service
+public class ReportJobService {
+
+    private Logger logger = Logger.getLogger(ReportJobService.class.getName());
+
+    private final ReportService reportService;
+
+    private final ProductCache productCache;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Cache<String, ReportJob> jobs;
+
+    private ReportJob latestProductReport;
+
+    public ReportJobService(ReportService reportService,
+                            ProductCache productCache,
+                            @Value("${report.jobs.threads:2}") int threads,
+                            @Value("${report.jobs.queue-capacity:10}") int queueCapacity,
+                            @Value("${report.jobs.retention-minutes:30}") long retentionMinutes) {
+        this.reportService = reportService;
+        this.productCache = productCache;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(retentionMinutes))
+                .<String, ReportJob>removalListener((id, job, cause) -> {
+                    if (job != null) job.deleteFile();
+                })
+                .build();
+    }
+
+    public synchronized ReportJobDTO submitProductReport() {
+
+        long catalogVersion = productCache.version();
+
+        ReportJob latest = latestProductReport;
+        if (latest != null
+                && latest.catalogVersion == catalogVersion
+                && latest.status != ReportJobStatus.FAILED
+                && jobs.getIfPresent(latest.id) != null) {
+            logger.info("Reusing product report job " + latest.id + ".");
+            return latest.toDTO();
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), catalogVersion);
+
+        // Registered before submitting: a render that finishes first would otherwise find no job
+        // and delete the file it just wrote.
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> render(job));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id);
+            throw new ReportCapacityException("Too many reports are being generated, try again later.");
+        }
+
+        latestProductReport = job;
+
+        logger.info("Submitted product report job " + job.id + ".");
+
+        return job.toDTO();
+    }
+
+    public ReportJobDTO findJob(String id) {
+        return getJob(id).toDTO();
+    }
+
+    public Path findReportFile(String id) {
+        ReportJob job = getJob(id);
+        return job.status == ReportJobStatus.DONE ? job.file : null;
+    }
+
+    private ReportJob getJob(String id) {
+        ReportJob job = jobs.getIfPresent(id);
+        if (job == null) throw new ResourceNotFoundException("No report job for this id!");
+        return job;
+    }
+
+    private void render(ReportJob job) {
+        job.status = ReportJobStatus.RUNNING;
+        Path file = null;
+        try {
+            file = Files.createTempFile("product-report-", ".pdf");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                reportService.generateProductReport(out);
+            }
+            job.file = file;
+            job.completedDate = new Date();
+            job.status = ReportJobStatus.DONE;
+
+            if (jobs.getIfPresent(job.id) == null) job.deleteFile();
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Product report job " + job.id + " failed.", e);
+            deleteQuietly(file);
+            job.message = e.getMessage();
+            job.completedDate = new Date();
+            job.status = ReportJobStatus.FAILED;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        jobs.invalidateAll();
+        jobs.cleanUp();
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static class ReportJob {
+
+        private final String id;
+
+        private final long catalogVersion;
+
+        private final Date createdDate = new Date();
+
+        private volatile ReportJobStatus status = ReportJobStatus.PENDING;
+
+        private volatile Date completedDate;
+
+        private volatile Path file;
+
+        private volatile String message;
+
+        private ReportJob(String id, long catalogVersion) {
+            this.id = id;
+            this.catalogVersion = catalogVersion;
+        }
+
+        private ReportJobDTO toDTO() {
+            return new ReportJobDTO(id, status, createdDate, completedDate, message);
+        }
+
+        private void deleteFile() {
+            deleteQuietly(file);
+        }
+    }
+}
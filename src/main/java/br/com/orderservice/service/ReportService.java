@@ -12,54 +12,68 @@ import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.logging.Logger;
 import java.util.stream.Stream;
 
 @Service
 public class ReportService {
 
+    private Logger logger = Logger.getLogger(ReportService.class.getName());
+
     @Autowired
     ProductService productService;
 
-    public ByteArrayInputStream generateProductReport() {
-        List<ProductDTO> products = productService.findAllProductsForReport();
+    @Value("${report.product.chunk-size:500}")
+    int chunkSize;
+
+    @Timed(value = "orderservice.report.generation", percentiles = {0.5, 0.95, 0.99})
+    public void generateProductReport(OutputStream out) {
+
+        logger.info("Generating product report.");
 
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PdfWriter writer = new PdfWriter(out);
+        PdfDocument pdfDoc = new PdfDocument(writer);
+        Document document = new Document(pdfDoc);
 
-        try {
-            PdfWriter writer = new PdfWriter(out);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc);
+        Paragraph title = new Paragraph("Product Report")
+                .setTextAlignment(TextAlignment.CENTER)
+                .setFontSize(20);
+        document.add(title);
 
-            Paragraph title = new Paragraph("Product Report")
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setFontSize(20);
-            document.add(title);
+        SolidLine line = new SolidLine(1f);
+        line.setColor(ColorConstants.BLACK);
+        LineSeparator ls = new LineSeparator(line);
+        document.add(ls);
 
-            SolidLine line = new SolidLine(1f);
-            line.setColor(ColorConstants.BLACK);
-            LineSeparator ls = new LineSeparator(line);
-            document.add(ls);
+        float[] columnWidths = {1, 2, 2, 5, 2, 1};
+        Table table = new Table(UnitValue.createPercentArray(columnWidths), true);
+        table.setWidth(UnitValue.createPercentValue(100));
 
-            float[] columnWidths = {1, 2, 2, 5, 2, 1};
-            Table table = new Table(UnitValue.createPercentArray(columnWidths));
-            table.setWidth(UnitValue.createPercentValue(100));
+        addTableHeader(table);
+        document.add(table);
 
-            addTableHeader(table);
+        Long lastId = 0L;
+        List<ProductDTO> products = productService.findProductsForReport(lastId, chunkSize);
+
+        while (!products.isEmpty()) {
             addRows(table, products);
+            table.flush();
 
-            document.add(table);
-            document.close();
-        } catch (Exception e) {
-            e.printStackTrace();
+            lastId = products.get(products.size() - 1).getId();
+            products = products.size() < chunkSize
+                    ? List.of()
+                    : productService.findProductsForReport(lastId, chunkSize);
         }
 
-        return new ByteArrayInputStream(out.toByteArray());
+        table.complete();
+        document.close();
     }
 
     private void addTableHeader(Table table) {
@@ -76,10 +90,9 @@ public class ReportService {
             table.addCell(product.getId().toString());
             table.addCell(product.getSku());
             table.addCell(product.getName());
-            table.addCell(product.getDescription());
+            table.addCell(product.getDescription() != null ? product.getDescription() : "");
             table.addCell(product.getValue().toString());
             table.addCell(product.getQuantity().toString());
         }
     }
 }
-
@@ -0,0 +1,124 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.cache.ProductCache;
+import br.com.orderservice.model.Order;
+import br.com.orderservice.model.OrderProduct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+@Service
+public class StockReservationService {
+
+    private static final String RESERVE_SQL =
+            "UPDATE product SET quantity = quantity - ?, version = version + 1 WHERE id = ? AND quantity >= ?";
+
+    private static final String RELEASE_SQL =
+            "UPDATE product SET quantity = quantity + ?, version = version + 1 WHERE id = ?";
+
+    private Logger logger = Logger.getLogger(StockReservationService.class.getName());
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ProductCache productCache;
+
+    @Transactional
+    public boolean reserve(Order order) {
+        return reserveAll(List.of(order)).contains(order.getId());
+    }
+
+    @Transactional
+    public Set<Long> reserveAll(List<Order> orders) {
+
+        Map<Long, Map<Long, Integer>> quantitiesByOrder = new LinkedHashMap<>();
+        Set<Long> productIds = new TreeSet<>();
+        for (Order order : orders) {
+            Map<Long, Integer> quantities = quantitiesByProduct(order);
+            quantitiesByOrder.put(order.getId(), quantities);
+            productIds.addAll(quantities.keySet());
+        }
+        if (productIds.isEmpty()) return new HashSet<>(quantitiesByOrder.keySet());
+
+        // Every product row is locked up front in id order, so concurrent reservations cannot deadlock,
+        // and each order is then decided on its own against the locked stock. An order that falls short
+        // never holds stock that a later order in the same batch needs.
+        Map<Long, Integer> available = lockStock(productIds);
+
+        Set<Long> reserved = new HashSet<>();
+        Map<Long, Integer> taken = new TreeMap<>();
+        quantitiesByOrder.forEach((orderId, quantities) -> {
+            boolean fits = quantities.entrySet().stream()
+                    .allMatch(entry -> available.getOrDefault(entry.getKey(), 0) >= entry.getValue());
+            if (!fits) return;
+
+            quantities.forEach((productId, quantity) -> {
+                available.merge(productId, -quantity, Integer::sum);
+                taken.merge(productId, quantity, Integer::sum);
+            });
+            reserved.add(orderId);
+        });
+
+        if (reserved.size() < quantitiesByOrder.size()) {
+            logger.info("Insufficient stock for " + (quantitiesByOrder.size() - reserved.size()) + " orders.");
+        }
+        if (taken.isEmpty()) return reserved;
+
+        productCache.evict(List.copyOf(taken.keySet()));
+
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE_SQL, taken.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey(), entry.getValue()})
+                .toList());
+        for (int count : updated) {
+            if (count != 1) throw new IllegalStateException("Stock changed while its rows were locked.");
+        }
+
+        return reserved;
+    }
+
+    private Map<Long, Integer> lockStock(Set<Long> productIds) {
+        String placeholders = String.join(", ", Collections.nCopies(productIds.size(), "?"));
+
+        Map<Long, Integer> available = new HashMap<>();
+        jdbcTemplate.query("SELECT id, quantity FROM product WHERE id IN (" + placeholders + ") ORDER BY id FOR UPDATE",
+                rs -> {
+                    available.put(rs.getLong("id"), rs.getInt("quantity"));
+                },
+                productIds.toArray());
+        return available;
+    }
+
+    @Transactional
+    public void release(Order order) {
+
+        Map<Long, Integer> quantities = quantitiesByProduct(order);
+        if (quantities.isEmpty()) return;
+
+        productCache.evict(List.copyOf(quantities.keySet()));
+
+        jdbcTemplate.batchUpdate(RELEASE_SQL, quantities.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList());
+    }
+
+    private Map<Long, Integer> quantitiesByProduct(Order order) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderProduct orderProduct : order.getProducts()) {
+            quantities.merge(orderProduct.getProduct().getId(), orderProduct.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+}
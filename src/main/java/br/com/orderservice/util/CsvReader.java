@@ -0,0 +1,81 @@
+package br.com.orderservice.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvReader implements Closeable {
+
+    private final Reader reader;
+
+    private int lineNumber = 0;
+
+    private boolean finished = false;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public List<String> readRecord() throws IOException {
+        if (finished) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean empty = true;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            empty = false;
+            char ch = (char) c;
+
+            if (quoted) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) reader.reset();
+                    }
+                } else {
+                    if (ch == '\n') lineNumber++;
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\r') {
+                // handled together with the following '\n'
+            } else if (ch == '\n') {
+                lineNumber++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append(ch);
+            }
+        }
+
+        finished = true;
+        if (empty) return null;
+
+        lineNumber++;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
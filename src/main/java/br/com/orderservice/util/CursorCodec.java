@@ -0,0 +1,28 @@
+package br.com.orderservice.util;
+
+import br.com.orderservice.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class CursorCodec {
+
+    private static final String PREFIX = "id:";
+
+    public static String encode(Long lastId) {
+        if (lastId == null) return null;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0L;
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) throw new InvalidCursorException("Invalid cursor!");
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor!");
+        }
+    }
+}
@@ -7,4 +7,8 @@ public class CustomMediaType {
     public static final String APPLICATION_JSON = "application/json";
 
     public static final MediaType APPLICATION_PDF = new MediaType("application", "pdf");
+
+    public static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson");
+
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv");
 }
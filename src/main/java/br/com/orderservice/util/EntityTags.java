@@ -0,0 +1,64 @@
+package br.com.orderservice.util;
+
+import br.com.orderservice.dto.OrderDTO;
+import br.com.orderservice.dto.OrderProductDTO;
+import br.com.orderservice.dto.OrderVersionDTO;
+import br.com.orderservice.dto.ProductDTO;
+import org.springframework.data.domain.Page;
+
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class EntityTags {
+
+    public static String of(Long... parts) {
+        if (parts.length == 0 || parts[0] == null) return null;
+
+        return Stream.of(parts)
+                .map(part -> String.valueOf(part == null ? 0L : part))
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    // An order tag also covers its lines and the products they show, so a product edit
+    // or a replaced line changes it even when the order row itself is untouched.
+    public static String of(OrderVersionDTO version) {
+        return of(version.version(), version.lines(), version.lastLineId(), version.productVersions());
+    }
+
+    public static String of(OrderDTO order) {
+        long lastLineId = 0L;
+        long productVersions = 0L;
+        for (OrderProductDTO line : order.getProducts()) {
+            if (line.getId() != null) lastLineId = Math.max(lastLineId, line.getId());
+            if (line.getProduct() != null && line.getProduct().getVersion() != null) {
+                productVersions += line.getProduct().getVersion();
+            }
+        }
+        return of(order.getVersion(), (long) order.getProducts().size(), lastLineId, productVersions);
+    }
+
+    public static String of(Page<ProductDTO> page) {
+        long hash = 1L;
+        for (ProductDTO product : page.getContent()) {
+            hash = 31 * hash + Objects.hash(product.getId(), product.getVersion());
+        }
+        return of((long) page.getNumber(), (long) page.getSize(), page.getTotalElements(), hash & Long.MAX_VALUE);
+    }
+
+    public static Long parse(String tag) {
+        if (tag == null || tag.isBlank() || tag.trim().equals("*")) return null;
+
+        String value = tag.trim();
+        if (value.startsWith("W/")) value = value.substring(2);
+        value = value.replace("\"", "");
+
+        int separator = value.indexOf('-');
+        if (separator >= 0) value = value.substring(0, separator);
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
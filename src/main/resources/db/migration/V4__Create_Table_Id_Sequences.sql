@@ -0,0 +1,11 @@
+CREATE TABLE id_sequences (
+    sequence_name VARCHAR(50) NOT NULL,
+    next_val BIGINT NOT NULL,
+    PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'orders', COALESCE(MAX(id), 0) + 51 FROM orders;
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'order_product', COALESCE(MAX(id), 0) + 51 FROM `order_product`;
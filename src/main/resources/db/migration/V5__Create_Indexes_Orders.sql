@@ -0,0 +1,7 @@
+CREATE INDEX idx_orders_status_created_date ON orders (status, created_date, id);
+
+CREATE INDEX idx_orders_created_date ON orders (created_date, id);
+
+CREATE INDEX idx_orders_client_name_created_date ON orders (client_name, created_date);
+
+CREATE INDEX idx_orders_phone_number_created_date ON orders (phone_number, created_date);
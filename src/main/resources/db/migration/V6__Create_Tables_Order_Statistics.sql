@@ -0,0 +1,12 @@
+CREATE TABLE order_status_totals (
+    status VARCHAR(255) NOT NULL,
+    orders BIGINT NOT NULL,
+    PRIMARY KEY (status)
+);
+
+CREATE TABLE order_daily_totals (
+    day DATE NOT NULL,
+    orders BIGINT NOT NULL,
+    revenue DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (day)
+);
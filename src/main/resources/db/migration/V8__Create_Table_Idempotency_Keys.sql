@@ -0,0 +1,8 @@
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    response_body MEDIUMTEXT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (idempotency_key),
+    INDEX idx_idempotency_keys_created_at (created_at)
+);
@@ -0,0 +1,39 @@
+package br.com.orderservice.benchmark;
+
+import br.com.orderservice.OrderserviceApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the whole application without the web layer on an in-memory H2 database in MySQL mode,
+// migrated by the real Flyway scripts, so benchmarks exercise the production services and indexes.
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                        + "NON_KEYWORDS=VALUE,DAY;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--logging.level.root=WARN",
+                "--logging.level.br.com.orderservice=WARN",
+                // The embedded database shutdown hook races the pool on close and only logs noise.
+                "--logging.level.org.springframework.beans.factory.support=ERROR"));
+        args.addAll(List.of(properties));
+
+        return new SpringApplicationBuilder(OrderserviceApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+}
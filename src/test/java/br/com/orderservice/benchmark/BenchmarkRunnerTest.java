@@ -0,0 +1,34 @@
+package br.com.orderservice.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs every *Benchmark class with JMH. Excluded from the default build: run it with
+// "mvn test -Pbenchmark", optionally narrowed with -Dbenchmark.include=<regex>.
+@Tag("benchmark")
+class BenchmarkRunnerTest {
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        String include = System.getProperty("benchmark.include", "br\\.com\\.orderservice\\..*Benchmark");
+
+        var results = new Runner(new OptionsBuilder()
+                .include(include)
+                .forks(1)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build()).run();
+
+        assertThat(results).isNotEmpty();
+    }
+}
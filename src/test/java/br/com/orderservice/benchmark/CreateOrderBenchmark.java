@@ -0,0 +1,108 @@
+package br.com.orderservice.benchmark;
+
+import br.com.orderservice.cache.ProductCache;
+import br.com.orderservice.dto.OrderDTO;
+import br.com.orderservice.dto.OrderProductDTO;
+import br.com.orderservice.dto.ProductDTO;
+import br.com.orderservice.exceptions.ResourceNotFoundException;
+import br.com.orderservice.model.Order;
+import br.com.orderservice.model.Product;
+import br.com.orderservice.repository.OrderRepository;
+import br.com.orderservice.repository.ProductRepository;
+import br.com.orderservice.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Order creation latency by cart size: the set-based product lookup behind createOrder, with the
+// product cache warm and cold, against the per-line findById loop it replaced.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CreateOrderBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int lines;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private ProductRepository productRepository;
+    private ProductCache productCache;
+    private JdbcTemplate jdbcTemplate;
+    private OrderDTO order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("create-order");
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        productRepository = context.getBean(ProductRepository.class);
+        productCache = context.getBean(ProductCache.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<OrderProductDTO> orderLines = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            Product product = productRepository.save(new Product(null, "SKU" + i, "Product " + i, null,
+                    new BigDecimal("10.00"), 1_000_000, null));
+
+            ProductDTO reference = new ProductDTO();
+            reference.setId(product.getId());
+            orderLines.add(new OrderProductDTO(null, 1, reference));
+        }
+
+        order = new OrderDTO(null, "Client", "5511999999999", "Street 1", new Date(),
+                null, null, orderLines, null);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteOrders() {
+        jdbcTemplate.update("DELETE FROM order_product");
+        jdbcTemplate.update("DELETE FROM orders");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDTO createOrder() {
+        return orderService.createOrder(order);
+    }
+
+    @Benchmark
+    public OrderDTO createOrderWithColdCache() {
+        productCache.evictAll();
+        return orderService.createOrder(order);
+    }
+
+    // The lookup createOrder used before: one findById round trip per line, outside a transaction.
+    @Benchmark
+    public Order perLineFindById() {
+        Map<Long, Product> productsById = new HashMap<>();
+        for (OrderProductDTO line : order.getProducts()) {
+            Long productId = line.getProduct().getId();
+            productsById.put(productId, productRepository.findById(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product with id " + productId + " does not exist.")));
+        }
+        return orderRepository.save(orderService.buildOrder(order, productsById));
+    }
+}
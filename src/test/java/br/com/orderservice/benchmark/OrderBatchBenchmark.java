@@ -0,0 +1,101 @@
+package br.com.orderservice.benchmark;
+
+import br.com.orderservice.dto.OrderBatchResultDTO;
+import br.com.orderservice.dto.OrderDTO;
+import br.com.orderservice.dto.OrderProductDTO;
+import br.com.orderservice.dto.ProductDTO;
+import br.com.orderservice.model.Product;
+import br.com.orderservice.repository.ProductRepository;
+import br.com.orderservice.service.OrderBatchService;
+import br.com.orderservice.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Orders per second for the same ORDERS orders submitted as one batch request against one
+// createOrder call each. Both scores are per order, so they compare directly.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderBatchBenchmark {
+
+    private static final int ORDERS = 100;
+
+    private static final int PRODUCTS = 20;
+
+    private static final int LINES = 3;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderBatchService orderBatchService;
+    private JdbcTemplate jdbcTemplate;
+    private List<OrderDTO> orders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("order-batch");
+        orderService = context.getBean(OrderService.class);
+        orderBatchService = context.getBean(OrderBatchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(productRepository.save(new Product(null, "SKU" + i, "Product " + i, null,
+                    new BigDecimal("10.00"), 1_000_000, null)).getId());
+        }
+
+        orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            List<OrderProductDTO> lines = new ArrayList<>();
+            for (int k = 0; k < LINES; k++) {
+                ProductDTO reference = new ProductDTO();
+                reference.setId(productIds.get((i + k) % PRODUCTS));
+                lines.add(new OrderProductDTO(null, 1, reference));
+            }
+            orders.add(new OrderDTO(null, "Client " + i, "5511999999999", "Street " + i, new Date(),
+                    null, null, lines, null));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteOrders() {
+        jdbcTemplate.update("DELETE FROM order_product");
+        jdbcTemplate.update("DELETE FROM orders");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public OrderBatchResultDTO batch() {
+        return orderBatchService.createOrders(orders);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void oneByOne(Blackhole blackhole) {
+        for (OrderDTO order : orders) {
+            blackhole.consume(orderService.createOrder(order));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.orderservice.benchmark;
+
+import br.com.orderservice.dto.OrderSearchDTO;
+import br.com.orderservice.enums.Status;
+import br.com.orderservice.repository.OrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// The order search filters over millions of rows, one minute apart, on the Flyway schema and its
+// V5 indexes. Index-bound queries cost about the same at every table size; a scan grows with it.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class OrderSearchBenchmark {
+
+    private static final int INSERT_CHUNK = 100_000;
+
+    private static final int CLIENTS = 50_000;
+
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+
+    @Param({"200000", "2000000"})
+    public int orders;
+
+    private final Pageable firstPage = PageRequest.of(0, 20);
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+
+    private OrderSearchDTO kitchenQueue;
+    private OrderSearchDTO lastHour;
+    private OrderSearchDTO clientName;
+    private OrderSearchDTO phoneNumber;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("order-search-" + orders);
+        orderRepository = context.getBean(OrderRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int from = 1; from <= orders; from += INSERT_CHUNK) {
+            jdbcTemplate.update("""
+                    INSERT INTO orders (client_name, phone_number, address, created_date, total_value, status, version)
+                    SELECT 'Client ' || MOD(x, ?), '5511' || LPAD(CAST(MOD(x, ?) AS VARCHAR), 9, '0'), 'Street',
+                           DATEADD(MINUTE, -x, CAST(? AS TIMESTAMP)), 10.00,
+                           CASEWHEN(MOD(x, 50) = 0, 'PREPARATION', 'CONCLUDED'), 0
+                    FROM SYSTEM_RANGE(?, ?) AS r(x)
+                    """, CLIENTS, CLIENTS, Timestamp.from(NOW), from, Math.min(from + INSERT_CHUNK - 1, orders));
+        }
+        jdbcTemplate.execute("ANALYZE");
+
+        Date dayAgo = Date.from(NOW.minus(1, ChronoUnit.DAYS));
+        kitchenQueue = new OrderSearchDTO(Status.PREPARATION, dayAgo, Date.from(NOW), null, null);
+        lastHour = new OrderSearchDTO(null, Date.from(NOW.minus(1, ChronoUnit.HOURS)), Date.from(NOW), null, null);
+        clientName = new OrderSearchDTO(null, null, null, "Client 4242", null);
+        phoneNumber = new OrderSearchDTO(null, dayAgo, null, null, "5511000004242");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Slice<Long> kitchenQueue() {
+        return orderRepository.searchIds(kitchenQueue, firstPage);
+    }
+
+    @Benchmark
+    public Slice<Long> lastHour() {
+        return orderRepository.searchIds(lastHour, firstPage);
+    }
+
+    @Benchmark
+    public Slice<Long> clientName() {
+        return orderRepository.searchIds(clientName, firstPage);
+    }
+
+    @Benchmark
+    public Slice<Long> phoneNumber() {
+        return orderRepository.searchIds(phoneNumber, firstPage);
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.orderservice.benchmark;
+
+import br.com.orderservice.dto.ProductDTO;
+import br.com.orderservice.repository.ProductRepository;
+import br.com.orderservice.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+// Autocomplete latency over a synthetic catalog, one benchmark per kind of query the search box sends.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductSearchBenchmark {
+
+    private static final String[] COLORS = {"red", "blue", "green", "black", "white", "gray", "pink", "brown",
+            "gold", "silver"};
+
+    private static final String[] ADJECTIVES = {"small", "large", "classic", "modern", "compact", "premium",
+            "basic", "heavy", "light", "smart", "rustic", "slim", "deluxe", "mini", "ultra", "soft", "steel",
+            "wooden", "folding", "portable"};
+
+    private static final String[] NOUNS = {"lamp", "chair", "table", "desk", "shelf", "sofa", "bench", "stool",
+            "cabinet", "drawer", "mirror", "clock", "vase", "rug", "pillow", "blanket", "basket", "kettle", "mug",
+            "plate", "bowl", "pan", "knife", "fork", "spoon", "glass", "bottle", "jar", "box", "bag"};
+
+    private static final int QUERIES = 1024;
+
+    private static final int LIMIT = 20;
+
+    @Param({"100000"})
+    public int products;
+
+    private ProductSearchIndex index;
+
+    private String[] words;
+    private String[] phrases;
+    private String[] skus;
+    private String[] twoCharPrefixes;
+    private String[] oneCharPrefixes;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        List<ProductDTO> catalog = new ArrayList<>(products);
+        for (long id = 1; id <= products; id++) {
+            String name = COLORS[random.nextInt(COLORS.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)]
+                    + " " + NOUNS[random.nextInt(NOUNS.length)];
+            catalog.add(new ProductDTO(id, String.format("SKU%06d", id), name, "Item number " + id,
+                    BigDecimal.TEN, 1, 0L));
+        }
+
+        index = new ProductSearchIndex(mock(ProductRepository.class));
+        index.putAll(catalog);
+
+        words = new String[QUERIES];
+        phrases = new String[QUERIES];
+        skus = new String[QUERIES];
+        twoCharPrefixes = new String[QUERIES];
+        oneCharPrefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            words[i] = noun;
+            phrases[i] = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + noun;
+            skus[i] = String.format("SKU%06d", random.nextInt(products) + 1);
+            twoCharPrefixes[i] = noun.substring(0, 2);
+            oneCharPrefixes[i] = noun.substring(0, 1);
+        }
+    }
+
+    @Benchmark
+    public List<Long> word() {
+        return index.search(words[next++ & (QUERIES - 1)], LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> phrase() {
+        return index.search(phrases[next++ & (QUERIES - 1)], LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> sku() {
+        return index.search(skus[next++ & (QUERIES - 1)], LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> twoCharPrefix() {
+        return index.search(twoCharPrefixes[next++ & (QUERIES - 1)], LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> oneCharPrefix() {
+        return index.search(oneCharPrefixes[next++ & (QUERIES - 1)], LIMIT);
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.orderservice.benchmark;
+
+import br.com.orderservice.model.Product;
+import br.com.orderservice.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.LockModeType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Concurrent read-modify-write of product stock: @Version with the same bounded retry and
+// jittered backoff the order paths use, against locking the row with SELECT ... FOR UPDATE.
+// hotProducts=1 puts every writer on one row; larger values spread the writes out.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class StockContentionBenchmark {
+
+    @Param({"1", "16"})
+    public int hotProducts;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private RetryTemplate retryTemplate;
+    private List<Long> productIds;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long retriesExhausted;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retriesExhausted = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("stock-contention");
+        productRepository = context.getBean(ProductRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        retryTemplate = RetryTemplate.builder()
+                .maxAttempts(4)
+                .exponentialBackoff(20, 2, 160, true)
+                .retryOn(OptimisticLockingFailureException.class)
+                .build();
+
+        productIds = new ArrayList<>();
+        for (int i = 0; i < hotProducts; i++) {
+            Product product = new Product(null, "HOT" + i, "Hot product " + i, null,
+                    new BigDecimal("10.00"), Integer.MAX_VALUE, null);
+            productIds.add(productRepository.save(product).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void optimisticWithRetry(Outcomes outcomes) {
+        Long id = hotProduct();
+        try {
+            retryTemplate.execute(retry -> transactionTemplate.execute(status -> {
+                Product product = productRepository.findById(id).orElseThrow();
+                product.setQuantity(product.getQuantity() - 1);
+                return productRepository.saveAndFlush(product);
+            }));
+        } catch (OptimisticLockingFailureException e) {
+            outcomes.retriesExhausted++;
+        }
+    }
+
+    @Benchmark
+    public Product selectForUpdate() {
+        Long id = hotProduct();
+        return transactionTemplate.execute(status -> {
+            Product product = entityManager.find(Product.class, id, LockModeType.PESSIMISTIC_WRITE);
+            product.setQuantity(product.getQuantity() - 1);
+            return product;
+        });
+    }
+
+    private Long hotProduct() {
+        return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.orderservice.cache;
+
+import br.com.orderservice.dto.ProductDTO;
+import br.com.orderservice.mappers.ProductMapper;
+import br.com.orderservice.model.Product;
+import br.com.orderservice.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductCacheTest {
+
+    private ProductRepository productRepository;
+    private ProductCache productCache;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productCache = new ProductCache(productRepository, new ProductMapper(),
+                mock(PlatformTransactionManager.class), 600, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getLoadsOnceAndServesFromTheCache() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, "10.00", 1L)));
+
+        assertThat(productCache.get(1L)).map(ProductDTO::getValue).contains(new BigDecimal("10.00"));
+        assertThat(productCache.get(1L)).isPresent();
+
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getOfAMissingProductIsEmpty() {
+        when(productRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThat(productCache.get(9L)).isEmpty();
+    }
+
+    @Test
+    void putIsServedWithoutLoading() {
+        productCache.put(dto(1L, "12.00", 2L));
+
+        assertThat(productCache.get(1L)).map(ProductDTO::getVersion).contains(2L);
+        verify(productRepository, never()).findById(1L);
+    }
+
+    @Test
+    void evictMakesTheNextReadReload() {
+        when(productRepository.findById(1L))
+                .thenReturn(Optional.of(product(1L, "10.00", 1L)))
+                .thenReturn(Optional.of(product(1L, "15.00", 2L)));
+
+        productCache.get(1L);
+        long version = productCache.version();
+
+        productCache.evict(List.of(1L));
+
+        assertThat(productCache.get(1L)).map(ProductDTO::getValue).contains(new BigDecimal("15.00"));
+        assertThat(productCache.version()).isGreaterThan(version);
+    }
+
+    @Test
+    void evictAllDropsEveryEntry() {
+        productCache.put(dto(1L, "10.00", 1L));
+        productCache.put(dto(2L, "20.00", 1L));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, "11.00", 2L)));
+
+        productCache.evictAll();
+
+        assertThat(productCache.get(1L)).map(ProductDTO::getValue).contains(new BigDecimal("11.00"));
+    }
+
+    @Test
+    void staleEntryCachedBeforeCommitIsEvictedAgainAfterCommit() {
+        productCache.put(dto(1L, "10.00", 1L));
+        TransactionSynchronizationManager.initSynchronization();
+
+        productCache.evict(List.of(1L));
+
+        // A concurrent reader misses while our write is uncommitted and re-caches the old row.
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, "10.00", 1L)));
+        assertThat(productCache.get(1L)).map(ProductDTO::getVersion).contains(1L);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, "15.00", 2L)));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(productCache.get(1L)).map(ProductDTO::getVersion).contains(2L);
+    }
+
+    @Test
+    void putInsideATransactionIsOnlyCachedOnceItCommits() {
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.initSynchronization();
+
+        productCache.put(dto(1L, "10.00", 0L));
+
+        assertThat(productCache.get(1L)).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(productCache.get(1L)).map(ProductDTO::getVersion).contains(0L);
+    }
+
+    @Test
+    void putInsideATransactionThatRollsBackIsNeverCached() {
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.initSynchronization();
+
+        productCache.put(dto(1L, "10.00", 0L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(productCache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void getAllLoadsOnlyTheMissesAndLeavesOutUnknownIds() {
+        productCache.put(dto(1L, "10.00", 1L));
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product(2L, "20.00", 1L)));
+
+        Map<Long, ProductDTO> products = productCache.getAll(List.of(1L, 2L, 3L));
+
+        assertThat(products).containsOnlyKeys(1L, 2L);
+        verify(productRepository).findAllById(argThat(ids ->
+                ids instanceof List<?> list && list.size() == 2 && list.containsAll(List.of(2L, 3L))));
+    }
+
+    private ProductDTO dto(Long id, String value, Long version) {
+        return new ProductDTO(id, "SKU" + id, "Product " + id, null, new BigDecimal(value), 10, version);
+    }
+
+    private Product product(Long id, String value, Long version) {
+        Product product = new Product();
+        product.setId(id);
+        product.setSku("SKU" + id);
+        product.setName("Product " + id);
+        product.setValue(new BigDecimal(value));
+        product.setQuantity(10);
+        product.setVersion(version);
+        return product;
+    }
+}
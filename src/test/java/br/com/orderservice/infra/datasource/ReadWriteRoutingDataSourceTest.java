@@ -0,0 +1,133 @@
+package br.com.orderservice.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String REPLICA = "replica-0";
+
+    private final Map<String, Long> lags = new ConcurrentHashMap<>();
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = embedded(ReadWriteRoutingDataSource.PRIMARY);
+        replica = embedded(REPLICA);
+
+        monitor = new ReplicaLagMonitor(Map.of(REPLICA, replica), 5) {
+            @Override
+            protected Long lagSeconds(HikariDataSource dataSource, String name) {
+                return lags.get(name);
+            }
+        };
+
+        Map<Object, Object> targets = new HashMap<>(monitor.getReplicas());
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primary);
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(monitor);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAHealthyReplica() {
+        lags.put(REPLICA, 0L);
+        monitor.check();
+
+        String node = readOnly.execute(status -> node());
+        assertThat(node).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        lags.put(REPLICA, 0L);
+        monitor.check();
+
+        String node = readWrite.execute(status -> node());
+        assertThat(node).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        assertThat(node()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void readsStayOnThePrimaryUntilTheReplicaHasBeenChecked() {
+        String node = readOnly.execute(status -> node());
+        assertThat(node).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimaryUntilItCatchesUp() {
+        lags.put(REPLICA, 60L);
+        monitor.check();
+
+        String lagging = readOnly.execute(status -> node());
+        assertThat(lagging).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+
+        lags.put(REPLICA, 1L);
+        monitor.check();
+
+        String caughtUp = readOnly.execute(status -> node());
+        assertThat(caughtUp).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void replicaWithUnknownLagIsNotUsed() {
+        lags.put(REPLICA, 0L);
+        monitor.check();
+        lags.remove(REPLICA);
+        monitor.check();
+
+        String node = readOnly.execute(status -> node());
+        assertThat(node).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private HikariDataSource embedded(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName(name);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
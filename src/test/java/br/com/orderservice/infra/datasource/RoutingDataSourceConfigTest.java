@@ -0,0 +1,63 @@
+package br.com.orderservice.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutingDataSourceConfigTest {
+
+    // Boot's conversion service splits the comma-separated replica URLs as it does in the application.
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(RoutingDataSourceConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:routing-primary",
+                    "spring.datasource.driver-class-name=org.h2.Driver",
+                    "spring.datasource.username=sa",
+                    "spring.datasource.password=",
+                    "spring.datasource.hikari.maximum-pool-size=3",
+                    "spring.datasource.hikari.connection-timeout=1500",
+                    "datasource.replica.urls=jdbc:h2:mem:routing-replica-0,jdbc:h2:mem:routing-replica-1");
+
+    @Test
+    void hikariSettingsApplyToThePrimaryAndEveryReplica() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean(DataSource.class)).isNotInstanceOf(HikariDataSource.class);
+
+            List<HikariDataSource> pools = new ArrayList<>(context.getBean(ReplicaLagMonitor.class).getReplicas().values());
+            pools.add(context.getBean("primaryDataSource", HikariDataSource.class));
+
+            assertThat(pools).hasSize(3).allSatisfy(pool -> {
+                assertThat(pool.getMaximumPoolSize()).isEqualTo(3);
+                assertThat(pool.getConnectionTimeout()).isEqualTo(1500);
+            });
+            assertThat(pools).extracting(HikariDataSource::getPoolName)
+                    .containsExactly("replica-0", "replica-1", ReadWriteRoutingDataSource.PRIMARY);
+            assertThat(pools).extracting(HikariDataSource::isReadOnly).containsExactly(true, true, false);
+        });
+    }
+
+    @Test
+    void everyPoolIsClosedWithTheContext() {
+        List<HikariDataSource> pools = new ArrayList<>();
+
+        contextRunner.run(context -> {
+            pools.addAll(context.getBean(ReplicaLagMonitor.class).getReplicas().values());
+            pools.add(context.getBean("primaryDataSource", HikariDataSource.class));
+            pools.forEach(pool -> assertThat(pool.isClosed()).isFalse());
+        });
+
+        assertThat(pools).hasSize(3).allSatisfy(pool -> assertThat(pool.isClosed()).isTrue());
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.orderservice.infra.security;
+
+import br.com.orderservice.enums.UserRole;
+import br.com.orderservice.model.User;
+import br.com.orderservice.repository.UserRepository;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+    private static final String ISSUER = "OrderService-auth-api";
+
+    private String token;
+    private JwtTokenProvider jwtTokenProvider;
+    private SecurityFilter securityFilter;
+    private MockHttpServletRequest request;
+    private FilterChain filterChain;
+
+    @Setup
+    public void setUp() {
+        User user = new User("benchmark", "password", UserRole.USER);
+
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "tokenCacheMaxSize", 10_000L);
+        jwtTokenProvider.init();
+        token = jwtTokenProvider.generateToken(user);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByLogin("benchmark")).thenReturn(user);
+
+        securityFilter = new SecurityFilter();
+        securityFilter.jwtTokenProvider = jwtTokenProvider;
+        securityFilter.principalCache = new PrincipalCache(userRepository, 300, 10_000);
+
+        request = new MockHttpServletRequest("GET", "/api/product");
+        request.addHeader("Authorization", "Bearer " + token);
+        filterChain = (req, res) -> { };
+    }
+
+    // The path every request took before the verifier and the verified-token cache existed.
+    @Benchmark
+    public String validateRebuildingTheVerifier() {
+        return JWT.require(Algorithm.HMAC256(SECRET))
+                .withIssuer(ISSUER)
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String validateWithCache() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Object filterWithCaches() throws Exception {
+        securityFilter.doFilterInternal(request, new MockHttpServletResponse(), filterChain);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.orderservice.infra.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = SecurityConfigurationsTest.ActuatorStub.class)
+@Import({SecurityConfigurations.class, SecurityConfigurationsTest.ActuatorStub.class, SimpleMeterRegistry.class})
+class SecurityConfigurationsTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    JwtTokenProvider jwtTokenProvider;
+
+    @MockBean
+    PrincipalCache principalCache;
+
+    // Stands in for the actuator endpoints, which the MVC slice does not start.
+    @RestController
+    static class ActuatorStub {
+
+        @GetMapping({"/actuator/health", "/actuator/prometheus", "/actuator/metrics"})
+        String endpoint() {
+            return "ok";
+        }
+    }
+
+    @Test
+    void healthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void prometheusRequiresAnAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void prometheusRejectsAUser() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void prometheusIsScrapedWithAnAdminToken() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk());
+    }
+}
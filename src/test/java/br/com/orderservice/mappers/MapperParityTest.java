@@ -0,0 +1,131 @@
+package br.com.orderservice.mappers;
+
+import br.com.orderservice.dto.OrderDTO;
+import br.com.orderservice.dto.OrderForStatusDTO;
+import br.com.orderservice.dto.OrderLineDTO;
+import br.com.orderservice.dto.ProductDTO;
+import br.com.orderservice.enums.Status;
+import br.com.orderservice.model.Order;
+import br.com.orderservice.model.OrderProduct;
+import br.com.orderservice.model.Product;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The hand-written mappers replaced ModelMapper; each one must still produce exactly what
+// ModelMapper's default configuration produced for the same input.
+class MapperParityTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private final ProductMapper productMapper = new ProductMapper();
+
+    private final OrderMapper orderMapper = new OrderMapper(productMapper);
+
+    private final OrderForStatusMapper orderForStatusMapper = new OrderForStatusMapper();
+
+    @Test
+    void productToDTOMatchesModelMapper() {
+        Product product = product(7L);
+
+        assertThat(productMapper.toProductDTO(product)).isEqualTo(modelMapper.map(product, ProductDTO.class));
+    }
+
+    @Test
+    void productDTOToEntityMatchesModelMapper() {
+        ProductDTO dto = modelMapper.map(product(7L), ProductDTO.class);
+
+        assertThat(productMapper.toProduct(dto)).usingRecursiveComparison()
+                .isEqualTo(modelMapper.map(dto, Product.class));
+    }
+
+    @Test
+    void orderWithLinesToDTOMatchesModelMapper() {
+        Order order = order(3L, 4);
+
+        assertThat(orderMapper.toOrderDTO(order)).isEqualTo(modelMapper.map(order, OrderDTO.class));
+    }
+
+    @Test
+    void orderListToDTOsMatchesModelMapper() {
+        List<Order> orders = List.of(order(1L, 1), order(2L, 3), order(3L, 0));
+
+        assertThat(orderMapper.toOrderDTOList(orders))
+                .isEqualTo(orders.stream().map(order -> modelMapper.map(order, OrderDTO.class)).toList());
+    }
+
+    @Test
+    void orderLineProjectionsMatchModelMapperOnTheEntities() {
+        List<Order> orders = List.of(order(1L, 2), order(2L, 3));
+
+        List<OrderLineDTO> lines = new ArrayList<>();
+        for (Order order : orders) {
+            for (OrderProduct line : order.getProducts()) {
+                Product product = line.getProduct();
+                lines.add(new OrderLineDTO(order.getId(), order.getClientName(), order.getPhoneNumber(),
+                        order.getAddress(), order.getCreatedDate(), order.getTotalValue(), order.getStatus(),
+                        order.getVersion(), line.getId(), line.getQuantity(), product.getId(), product.getSku(),
+                        product.getName(), product.getDescription(), product.getValue(), product.getQuantity(),
+                        product.getVersion()));
+            }
+        }
+
+        assertThat(orderMapper.toOrderDTOMap(lines).values())
+                .containsExactlyElementsOf(orders.stream().map(order -> modelMapper.map(order, OrderDTO.class)).toList());
+    }
+
+    @Test
+    void orderDTOWithLinesToEntityMatchesModelMapper() {
+        OrderDTO dto = modelMapper.map(order(3L, 4), OrderDTO.class);
+
+        // Deliberate differences: toOrder only builds new orders, so it never takes a client-sent version,
+        // and it leaves the back reference unset where ModelMapper loosely matched the line id into a stub order.
+        assertThat(orderMapper.toOrder(dto)).usingRecursiveComparison()
+                .ignoringFields("version", "products.order")
+                .isEqualTo(modelMapper.map(dto, Order.class));
+    }
+
+    @Test
+    void orderForStatusMatchesModelMapperBothWays() {
+        Order order = order(5L, 2);
+        OrderForStatusDTO dto = new OrderForStatusDTO(5L, Status.READY);
+
+        assertThat(orderForStatusMapper.toOrderForStatusDTO(order))
+                .isEqualTo(modelMapper.map(order, OrderForStatusDTO.class));
+        assertThat(orderForStatusMapper.toOrder(dto)).usingRecursiveComparison()
+                .isEqualTo(modelMapper.map(dto, Order.class));
+    }
+
+    private Product product(Long id) {
+        return new Product(id, "SKU" + id, "Product " + id, "Description " + id,
+                new BigDecimal("10.50"), 100, 2L);
+    }
+
+    private Order order(Long id, int lines) {
+        Order order = new Order();
+        order.setId(id);
+        order.setClientName("Client " + id);
+        order.setPhoneNumber("5511999999999");
+        order.setAddress("Street " + id);
+        order.setCreatedDate(new Date(1_700_000_000_000L + id));
+        order.setTotalValue(new BigDecimal("10.50").multiply(BigDecimal.valueOf(lines + 1L)));
+        order.setStatus(Status.PREPARATION);
+        order.setVersion(1L);
+
+        for (int i = 1; i <= lines; i++) {
+            OrderProduct line = new OrderProduct();
+            line.setId(id * 100 + i);
+            line.setQuantity(i);
+            line.setProduct(product((long) i));
+            line.setOrder(order);
+            order.getProducts().add(line);
+        }
+        return order;
+    }
+}
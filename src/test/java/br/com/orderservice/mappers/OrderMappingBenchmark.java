@@ -0,0 +1,83 @@
+package br.com.orderservice.mappers;
+
+import br.com.orderservice.dto.OrderDTO;
+import br.com.orderservice.dto.OrderLineDTO;
+import br.com.orderservice.enums.Status;
+import br.com.orderservice.model.Order;
+import br.com.orderservice.model.OrderProduct;
+import br.com.orderservice.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderMappingBenchmark {
+
+    private static final int ORDERS = 1_000;
+    private static final int LINES_PER_ORDER = 10;
+
+    private OrderMapper orderMapper;
+    private List<Order> orders;
+    private List<OrderLineDTO> lines;
+
+    @Setup
+    public void setUp() {
+        orderMapper = new OrderMapper(new ProductMapper());
+        orders = new ArrayList<>(ORDERS);
+        lines = new ArrayList<>(ORDERS * LINES_PER_ORDER);
+
+        Date now = new Date();
+        long lineId = 0;
+        for (long orderId = 1; orderId <= ORDERS; orderId++) {
+            Order order = new Order();
+            order.setId(orderId);
+            order.setClientName("Client " + orderId);
+            order.setPhoneNumber("5511999999999");
+            order.setAddress("Street " + orderId);
+            order.setCreatedDate(now);
+            order.setTotalValue(new BigDecimal("100.00"));
+            order.setStatus(Status.EVALUATION);
+            order.setVersion(0L);
+
+            for (long productId = 1; productId <= LINES_PER_ORDER; productId++) {
+                Product product = new Product(productId, "SKU" + productId, "Product " + productId,
+                        "Description", new BigDecimal("10.00"), 100, 0L);
+
+                OrderProduct line = new OrderProduct();
+                line.setId(++lineId);
+                line.setQuantity(1);
+                line.setProduct(product);
+                line.setOrder(order);
+                order.getProducts().add(line);
+
+                lines.add(new OrderLineDTO(orderId, order.getClientName(), order.getPhoneNumber(), order.getAddress(),
+                        now, order.getTotalValue(), order.getStatus(), 0L, lineId, 1, productId, product.getSku(),
+                        product.getName(), product.getDescription(), product.getValue(), product.getQuantity(), 0L));
+            }
+            orders.add(order);
+        }
+    }
+
+    @Benchmark
+    public List<OrderDTO> entitiesToDTOs() {
+        return orderMapper.toOrderDTOList(orders);
+    }
+
+    @Benchmark
+    public Map<Long, OrderDTO> lineProjectionsToDTOs() {
+        return orderMapper.toOrderDTOMap(lines);
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.orderservice.repository;
+
+import br.com.orderservice.dto.OrderDTO;
+import br.com.orderservice.enums.Status;
+import br.com.orderservice.infra.sql.DataSourceProxyConfig;
+import br.com.orderservice.infra.sql.SqlRequestStats;
+import br.com.orderservice.mappers.OrderMapper;
+import br.com.orderservice.mappers.ProductMapper;
+import br.com.orderservice.model.Order;
+import br.com.orderservice.model.OrderProduct;
+import br.com.orderservice.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orders;MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DataSourceProxyConfig.class)
+class OrderRepositoryTest {
+
+    private static final int ORDERS = 45;
+    private static final int LINES_PER_ORDER = 3;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    private final OrderMapper orderMapper = new OrderMapper(new ProductMapper());
+
+    @BeforeEach
+    void setUp() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            Product product = new Product();
+            product.setSku("SKU" + i);
+            product.setName("Product " + i);
+            product.setValue(new BigDecimal("10.00"));
+            product.setQuantity(100);
+            products.add(entityManager.persist(product));
+        }
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setClientName("Client " + i);
+            order.setPhoneNumber("5511999999999");
+            order.setAddress("Street " + i);
+            order.setCreatedDate(new Date());
+            order.setTotalValue(new BigDecimal("30.00"));
+            order.setStatus(Status.EVALUATION);
+            for (Product product : products) {
+                OrderProduct line = new OrderProduct();
+                line.setOrder(order);
+                line.setProduct(product);
+                line.setQuantity(1);
+                order.getProducts().add(line);
+            }
+            entityManager.persist(order);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        SqlRequestStats.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlRequestStats.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 10, 20})
+    void pageOfOrdersTakesThreeStatementsWhateverItsSize(int size) {
+        Page<Long> ids = orderRepository.findPageOfIds(PageRequest.of(0, size));
+        Map<Long, OrderDTO> orders = orderMapper.toOrderDTOMap(orderRepository.findOrderLinesByIdIn(ids.getContent()));
+
+        assertThat(ids.getTotalElements()).isEqualTo(ORDERS);
+        assertThat(orders).hasSize(size);
+        assertThat(orders.values()).allSatisfy(order -> assertThat(order.getProducts()).hasSize(LINES_PER_ORDER));
+        // ids, count and one projection query for every line of the page: no per-order or per-line loading.
+        assertThat(SqlRequestStats.current().getStatements()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 10, 20})
+    void cursorPageOfOrdersTakesTwoStatementsWhateverItsSize(int size) {
+        List<Long> ids = orderRepository.findIdsAfter(0L, PageRequest.of(0, size));
+        Map<Long, OrderDTO> orders = orderMapper.toOrderDTOMap(orderRepository.findOrderLinesByIdIn(ids));
+
+        assertThat(orders).hasSize(size);
+        assertThat(SqlRequestStats.current().getStatements()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 10, 20})
+    void fetchJoinedOrdersTakeOneStatement(int size) {
+        List<Long> ids = orderRepository.findIdsAfter(0L, PageRequest.of(0, size));
+        SqlRequestStats.start();
+
+        List<Order> orders = orderRepository.findAllWithProductsByIdIn(ids);
+        orders.forEach(order -> order.getProducts().forEach(line -> line.getProduct().getName()));
+
+        assertThat(SqlRequestStats.current().getStatements()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.orderservice.repository;
+
+import br.com.orderservice.dto.OrderSearchDTO;
+import br.com.orderservice.enums.Status;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Plans the SQL the search endpoint actually sends against the Flyway schema, so a change to the
+// criteria query or to V5 that stops a filter from being answered by its index fails here.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-search;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,DAY;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "br.com.orderservice.repository.OrderSearchIndexTest$CapturedSql",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.flyway.enabled=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderSearchIndexTest {
+
+    private static final int ORDERS = 20_000;
+
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO orders (client_name, phone_number, address, created_date, total_value, status, version)
+                SELECT 'Client ' || MOD(x, 5000), '5511' || LPAD(CAST(MOD(x, 5000) AS VARCHAR), 9, '0'), 'Street',
+                       DATEADD(MINUTE, -x, CAST(? AS TIMESTAMP)), 10.00,
+                       CASEWHEN(MOD(x, 5) = 0, 'PREPARATION', CASEWHEN(MOD(x, 5) = 1, 'EVALUATION', 'CONCLUDED')), 0
+                FROM SYSTEM_RANGE(1, ?) AS r(x)
+                """, Timestamp.from(NOW), ORDERS);
+        jdbcTemplate.execute("ANALYZE");
+        CapturedSql.STATEMENTS.clear();
+    }
+
+    @Test
+    void kitchenQueueIsAnsweredByTheStatusIndex() {
+        OrderSearchDTO search = new OrderSearchDTO(Status.PREPARATION, daysAgo(2), Date.from(NOW), null, null);
+
+        assertThat(planOfSearch(search)).contains("idx_orders_status_created_date");
+    }
+
+    @Test
+    void dateWindowIsAnsweredByTheCreatedDateIndex() {
+        OrderSearchDTO search = new OrderSearchDTO(null, daysAgo(2), Date.from(NOW), null, null);
+
+        assertThat(planOfSearch(search)).contains("idx_orders_created_date");
+    }
+
+    @Test
+    void clientNamePrefixIsAnsweredByTheClientNameIndex() {
+        OrderSearchDTO search = new OrderSearchDTO(null, null, null, "Client 123", null);
+
+        assertThat(planOfSearch(search)).contains("idx_orders_client_name_created_date");
+    }
+
+    @Test
+    void phoneNumberIsAnsweredByThePhoneNumberIndex() {
+        OrderSearchDTO search = new OrderSearchDTO(null, daysAgo(30), null, null, "5511000000123");
+
+        assertThat(planOfSearch(search)).contains("idx_orders_phone_number_created_date");
+    }
+
+    private String planOfSearch(OrderSearchDTO search) {
+        orderRepository.searchIds(search, PageRequest.of(0, 20));
+
+        assertThat(CapturedSql.STATEMENTS).hasSize(1);
+        String sql = CapturedSql.STATEMENTS.get(0);
+
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters(search)).toLowerCase();
+    }
+
+    private Object[] parameters(OrderSearchDTO search) {
+        // In the order the criteria query binds them, followed by the page window.
+        List<Object> parameters = new ArrayList<>();
+        if (search.status() != null) parameters.add(search.status().name());
+        if (search.from() != null) parameters.add(new Timestamp(search.from().getTime()));
+        if (search.to() != null) parameters.add(new Timestamp(search.to().getTime()));
+        if (search.clientName() != null) parameters.add(search.clientName() + "%");
+        if (search.phoneNumber() != null) parameters.add(search.phoneNumber());
+        parameters.add(0);
+        parameters.add(21);
+        return parameters.toArray();
+    }
+
+    private Date daysAgo(int days) {
+        return Date.from(NOW.minus(days, ChronoUnit.DAYS));
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.orderservice.search;
+
+import br.com.orderservice.dto.ProductDTO;
+import br.com.orderservice.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(mock(ProductRepository.class));
+    }
+
+    @Test
+    void ranksSkuMatchesAboveNameMatchesAboveDescriptionMatches() {
+        index.putAll(List.of(
+                product(1L, "D1", "Desk lamp", null),
+                product(2L, "X1", "Lamp shade", null),
+                product(3L, "LAMP", "Light", null),
+                product(4L, "LAMP22", "Bulb", null),
+                product(5L, "Y1", "Clamps", null),
+                product(6L, "Z1", "Cable", "Fits any lamp"),
+                product(7L, "XLAMP", "Other", null),
+                product(8L, "W1", "Chair", "Wooden")));
+
+        assertThat(index.search("lamp", 10)).containsExactly(3L, 4L, 2L, 1L, 5L, 7L, 6L);
+    }
+
+    @Test
+    void breaksTiesByShorterNameThenLowerId() {
+        index.putAll(List.of(
+                product(10L, "A10", "Lamp big", null),
+                product(11L, "A11", "Lamp", null),
+                product(9L, "A9", "Lamp", null)));
+
+        assertThat(index.search("lamp", 10)).containsExactly(9L, 11L, 10L);
+        assertThat(index.search("lamp", 2)).containsExactly(9L, 11L);
+    }
+
+    @Test
+    void ignoresCaseAccentsAndPunctuation() {
+        index.put(product(1L, "AB-12", "Lâmpada LED", null));
+
+        assertThat(index.search("LAMPADA", 10)).containsExactly(1L);
+        assertThat(index.search("ab 12", 10)).containsExactly(1L);
+        assertThat(index.search("  ", 10)).isEmpty();
+        assertThat(index.search("lampada", 0)).isEmpty();
+    }
+
+    @Test
+    void shortQueriesMatchWordPrefixes() {
+        index.putAll(List.of(
+                product(1L, "D1", "Desk lamp", null),
+                product(2L, "C1", "Clamps", null),
+                product(3L, "C2", "Chair", null)));
+
+        assertThat(index.search("la", 10)).containsExactly(1L);
+        assertThat(index.search("cl", 10)).containsExactly(2L);
+        assertThat(index.search("c", 10)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(index.search("am", 10)).isEmpty();
+    }
+
+    @Test
+    void updatesReplaceThePreviousVersionOfAProduct() {
+        index.put(product(1L, "D1", "Desk lamp", null));
+        index.put(product(2L, "D2", "Floor lamp", null));
+        index.put(product(1L, "D1", "Office chair", null));
+
+        assertThat(index.search("lamp", 10)).containsExactly(2L);
+        assertThat(index.search("chair", 10)).containsExactly(1L);
+
+        index.remove(2L);
+        index.remove(99L);
+
+        assertThat(index.search("lamp", 10)).isEmpty();
+        assertThat(index.search("chair", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void writesInsideATransactionOnlyApplyOnceItCommits() {
+        index.put(product(1L, "D1", "Desk lamp", null));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.put(product(1L, "D1", "Office chair", null));
+            index.put(product(2L, "D2", "Floor lamp", null));
+
+            assertThat(index.search("lamp", 10)).containsExactly(1L);
+            assertThat(index.search("chair", 10)).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(index.search("lamp", 10)).containsExactly(2L);
+        assertThat(index.search("chair", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void writesInsideATransactionThatRollsBackAreDiscarded() {
+        index.put(product(1L, "D1", "Desk lamp", null));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.put(product(2L, "D2", "Floor lamp", null));
+            index.remove(1L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(index.search("lamp", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void compactionKeepsEveryLiveProductSearchable() {
+        int count = 2000;
+        index.putAll(LongStream.rangeClosed(1, count)
+                .mapToObj(id -> product(id, "W" + id, "Widget " + id, null)).toList());
+
+        // Replacing every product leaves as many dead ordinals as live ones, which triggers compaction.
+        index.putAll(LongStream.rangeClosed(1, count)
+                .mapToObj(id -> product(id, "G" + id, "Gadget " + id, null)).toList());
+
+        assertThat(index.search("widget", count * 2)).isEmpty();
+        assertThat(index.search("gadget", count * 2)).hasSize(count).doesNotHaveDuplicates();
+        assertThat(index.search("gadget 1234", 1)).containsExactly(1234L);
+
+        index.remove(1234L);
+        index.put(product(5L, "G5", "Sprocket 5", null));
+
+        assertThat(index.search("gadget", count * 2)).hasSize(count - 2).doesNotContain(1234L, 5L);
+        assertThat(index.search("sprocket", 10)).containsExactly(5L);
+    }
+
+    @Test
+    void shortQueriesOverALargeCatalogStillFillTheLimit() {
+        index.putAll(LongStream.rangeClosed(1, 10_000)
+                .mapToObj(id -> product(id, "W" + id, "Widget " + id, null)).toList());
+
+        List<Long> ids = index.search("w", 25);
+
+        assertThat(ids).hasSize(25).doesNotHaveDuplicates();
+        assertThat(index.search("wi", 25)).hasSize(25);
+    }
+
+    private ProductDTO product(Long id, String sku, String name, String description) {
+        return new ProductDTO(id, sku, name, description, BigDecimal.TEN, 1, 0L);
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.dto.OrderDTO;
+import br.com.orderservice.exceptions.IdempotencyKeyReusedException;
+import br.com.orderservice.exceptions.InvalidIdempotencyKeyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private IdempotencyService service;
+    private final AtomicInteger created = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:idempotency-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE idempotency_keys (" +
+                "idempotency_key VARCHAR(100) NOT NULL PRIMARY KEY, " +
+                "request_hash CHAR(64) NOT NULL, " +
+                "response_body CLOB NULL, " +
+                "created_at TIMESTAMP(6) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE created_orders (id BIGINT NOT NULL)");
+
+        service = newService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void replayReturnsTheFirstResponseWithoutRunningTheActionAgain() {
+        OrderDTO request = request("Alice");
+
+        OrderDTO first = service.execute("key-1", request, createOrder());
+        OrderDTO replay = service.execute("key-1", request("Alice"), createOrder());
+
+        assertThat(created).hasValue(1);
+        assertThat(replay.getId()).isEqualTo(first.getId());
+    }
+
+    @Test
+    void replayIsServedFromTheTableAfterTheInMemoryStoreIsLost() {
+        OrderDTO first = service.execute("key-1", request("Alice"), createOrder());
+
+        OrderDTO replay = newService().execute("key-1", request("Alice"), createOrder());
+
+        assertThat(created).hasValue(1);
+        assertThat(replay.getId()).isEqualTo(first.getId());
+    }
+
+    @Test
+    void reusingAKeyWithADifferentBodyIsRejected() {
+        service.execute("key-1", request("Alice"), createOrder());
+
+        assertThatThrownBy(() -> service.execute("key-1", request("Bob"), createOrder()))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThatThrownBy(() -> newService().execute("key-1", request("Bob"), createOrder()))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void blankOrOversizedKeysAreRejected() {
+        assertThatThrownBy(() -> service.execute(" ", request("Alice"), createOrder()))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+        assertThatThrownBy(() -> service.execute("k".repeat(101), request("Alice"), createOrder()))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+    }
+
+    @Test
+    void concurrentDuplicatesCoalesceOntoTheInFlightRequest() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<OrderDTO> slowCreate = () -> {
+            running.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return createOrder().get();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<OrderDTO> first = executor.submit(() -> service.execute("key-1", request("Alice"), slowCreate));
+            assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+
+            var duplicates = new ArrayList<Future<OrderDTO>>();
+            for (int i = 0; i < 7; i++) {
+                duplicates.add(executor.submit(() -> service.execute("key-1", request("Alice"), createOrder())));
+            }
+            release.countDown();
+
+            Long id = first.get(10, TimeUnit.SECONDS).getId();
+            for (Future<OrderDTO> duplicate : duplicates) {
+                assertThat(duplicate.get(10, TimeUnit.SECONDS).getId()).isEqualTo(id);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void failedRequestRollsBackItsWritesAndReleasesTheKey() {
+        Supplier<OrderDTO> failing = () -> {
+            jdbcTemplate.update("INSERT INTO created_orders (id) VALUES (?)", 99L);
+            throw new IllegalStateException("boom");
+        };
+
+        assertThatThrownBy(() -> service.execute("key-1", request("Alice"), failing))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM created_orders", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys", Integer.class)).isZero();
+
+        service.execute("key-1", request("Alice"), createOrder());
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void storedResponseCommitsWithTheOrder() {
+        OrderDTO order = service.execute("key-1", request("Alice"), createOrder());
+
+        String body = jdbcTemplate.queryForObject(
+                "SELECT response_body FROM idempotency_keys WHERE idempotency_key = ?", String.class, "key-1");
+
+        assertThat(body).contains("\"id\":" + order.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM created_orders", Integer.class)).isEqualTo(1);
+    }
+
+    private IdempotencyService newService() {
+        return new IdempotencyService(jdbcTemplate, new ObjectMapper(),
+                new DataSourceTransactionManager(dataSource), 24, 60, 100);
+    }
+
+    private Supplier<OrderDTO> createOrder() {
+        return () -> {
+            long id = created.incrementAndGet();
+            jdbcTemplate.update("INSERT INTO created_orders (id) VALUES (?)", id);
+
+            OrderDTO order = request("created");
+            order.setId(id);
+            return order;
+        };
+    }
+
+    private OrderDTO request(String clientName) {
+        OrderDTO order = new OrderDTO();
+        order.setClientName(clientName);
+        order.setPhoneNumber("5511999999999");
+        order.setAddress("Street 1");
+        order.setCreatedDate(new Date(0));
+        order.setTotalValue(new BigDecimal("10.00"));
+        return order;
+    }
+}
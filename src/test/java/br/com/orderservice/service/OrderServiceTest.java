@@ -0,0 +1,92 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.cache.ProductCache;
+import br.com.orderservice.dto.OrderDTO;
+import br.com.orderservice.enums.Status;
+import br.com.orderservice.infra.metrics.OrderMetrics;
+import br.com.orderservice.mappers.OrderForStatusMapper;
+import br.com.orderservice.mappers.OrderMapper;
+import br.com.orderservice.mappers.ProductMapper;
+import br.com.orderservice.model.Order;
+import br.com.orderservice.repository.OrderRepository;
+import br.com.orderservice.util.EntityTags;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-service;MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderService.class, OrderMapper.class, ProductMapper.class, OrderForStatusMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderServiceTest {
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @MockBean
+    StockReservationService stockReservationService;
+
+    @MockBean
+    ProductCache productCache;
+
+    @MockBean
+    OrderMetrics orderMetrics;
+
+    @MockBean
+    OrderStatisticsService orderStatisticsService;
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void theTagReturnedByAnUpdateIsAcceptedAsTheNextIfMatch() {
+        Order order = new Order();
+        order.setClientName("Client");
+        order.setPhoneNumber("5511999999999");
+        order.setAddress("Street 1");
+        order.setCreatedDate(new Date());
+        order.setTotalValue(new BigDecimal("10.00"));
+        order.setStatus(Status.EVALUATION);
+        Order created = orderRepository.save(order);
+
+        OrderDTO first = orderService.updateOrder(created.getId(), changes("Street 2"),
+                EntityTags.parse(EntityTags.of(created.getVersion())));
+        assertThat(first.getVersion()).isEqualTo(created.getVersion() + 1);
+
+        OrderDTO second = orderService.updateOrder(created.getId(), changes("Street 3"),
+                EntityTags.parse(EntityTags.of(first)));
+
+        assertThat(second.getAddress()).isEqualTo("Street 3");
+        assertThat(second.getVersion()).isEqualTo(first.getVersion() + 1);
+    }
+
+    private OrderDTO changes(String address) {
+        return new OrderDTO(null, "Client", "5511999999999", address, new Date(),
+                null, null, new ArrayList<>(), null);
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.enums.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderStatisticsServiceTest {
+
+    private static final Date CREATED = Date.from(Instant.parse("2024-06-01T12:00:00Z"));
+
+    private static final BigDecimal TOTAL = new BigDecimal("10.00");
+
+    private OrderStatisticsService service;
+
+    // What the reconciliation queries see: committed EVALUATION orders of TOTAL each, created at CREATED.
+    private long committedOrders;
+
+    private Runnable duringQuery = () -> {};
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            duringQuery.run();
+            if (committedOrders > 0) handler.processRow(row());
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        service = new OrderStatisticsService();
+        service.jdbcTemplate = jdbcTemplate;
+        service.zone = ZoneOffset.UTC;
+        service.dashboardDays = 30;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void driftIsCorrectedWhenNoOrderIsBeingWritten() {
+        service.recordCreated(Status.EVALUATION, CREATED, TOTAL);
+        committedOrders = 3;
+
+        service.reconcile();
+
+        assertThat(service.snapshot().getOrdersByStatus()).containsEntry(Status.EVALUATION, 3L);
+        assertThat(service.snapshot().getBilledOrders()).isEqualTo(3);
+        assertThat(service.snapshot().getRevenue()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void anOrderCommittedBeforeItsUpdateIsAppliedIsNotCountedTwice() {
+        TransactionSynchronizationManager.initSynchronization();
+        service.recordCreated(Status.EVALUATION, CREATED, TOTAL);
+        // The row is committed and visible to the queries, but afterCommit has not run yet.
+        committedOrders = 1;
+
+        service.reconcile();
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(service.snapshot().getOrdersByStatus()).containsEntry(Status.EVALUATION, 1L);
+        assertThat(service.snapshot().getBilledOrders()).isEqualTo(1);
+    }
+
+    @Test
+    void anOrderAppliedWhileTheDatabaseIsReadIsNotDropped() {
+        service.recordCreated(Status.EVALUATION, CREATED, TOTAL);
+        committedOrders = 1;
+        // Committed after the queries took their snapshot, applied before the counters would be corrected.
+        duringQuery = () -> {
+            duringQuery = () -> {};
+            service.recordCreated(Status.EVALUATION, CREATED, TOTAL);
+        };
+
+        service.reconcile();
+
+        assertThat(service.snapshot().getOrdersByStatus()).containsEntry(Status.EVALUATION, 2L);
+    }
+
+    private ResultSet row() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("status")).thenReturn(Status.EVALUATION.name());
+        when(rs.getLong("orders")).thenReturn(committedOrders);
+        when(rs.getTimestamp("bucket")).thenReturn(new Timestamp(CREATED.getTime()));
+        when(rs.getBigDecimal("revenue")).thenReturn(TOTAL.multiply(BigDecimal.valueOf(committedOrders)));
+        return rs;
+    }
+}
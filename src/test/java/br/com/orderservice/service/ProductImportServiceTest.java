@@ -0,0 +1,100 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.cache.ProductCache;
+import br.com.orderservice.dto.ProductImportResultDTO;
+import br.com.orderservice.model.Product;
+import br.com.orderservice.repository.ProductRepository;
+import br.com.orderservice.search.ProductSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:product-import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,DAY;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.flyway.enabled=true",
+        "product.import.batch-size=3"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import(ProductImportService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductImportServiceTest {
+
+    @Autowired
+    ProductImportService productImportService;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    ProductCache productCache;
+
+    @MockBean
+    ProductSearchIndex productSearchIndex;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM product");
+    }
+
+    @Test
+    void aRowTheDatabaseRejectsOnlyFailsItsOwnLine() throws IOException {
+        // Line 3 passes bean validation but overflows DECIMAL(19, 2), which fails its whole JDBC batch.
+        ProductImportResultDTO result = importCsv("""
+                sku,name,value,quantity
+                A1,Lamp,10.00,5
+                A2,Chair,1000000000000000000,5
+                A3,Table,30.00,5
+                A4,Desk,40.00,5
+                """);
+
+        assertThat(result.getRowsRead()).isEqualTo(4);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().asString().startsWith("line 3: rejected by the database");
+        assertThat(productRepository.findAll()).extracting(Product::getSku).containsExactlyInAnyOrder("A1", "A3", "A4");
+    }
+
+    @Test
+    void rowsOfAnImportedBatchAreUpserted() throws IOException {
+        productRepository.save(new Product(null, "A1", "Old lamp", null, new BigDecimal("5.00"), 1, null));
+
+        ProductImportResultDTO result = importCsv("""
+                sku,name,value,quantity
+                A1,Lamp,10.00,5
+                A2,Chair,20.00,5
+                """);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isZero();
+        assertThat(productRepository.findAll()).extracting(Product::getName).containsExactlyInAnyOrder("Lamp", "Chair");
+    }
+
+    private ProductImportResultDTO importCsv(String csv) throws IOException {
+        return productImportService.importProducts(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
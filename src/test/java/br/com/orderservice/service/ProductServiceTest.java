@@ -0,0 +1,85 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.cache.ProductCache;
+import br.com.orderservice.dto.ProductDTO;
+import br.com.orderservice.exceptions.PreconditionFailedException;
+import br.com.orderservice.mappers.ProductMapper;
+import br.com.orderservice.repository.ProductRepository;
+import br.com.orderservice.search.ProductSearchIndex;
+import br.com.orderservice.util.EntityTags;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:product-service;MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProductService.class, ProductMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductServiceTest {
+
+    @Autowired
+    ProductService productService;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @MockBean
+    ProductCache productCache;
+
+    @MockBean
+    ProductSearchIndex productSearchIndex;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void theTagReturnedByAnUpdateIsAcceptedAsTheNextIfMatch() {
+        ProductDTO created = productService.saveProduct(product("Lamp"));
+
+        ProductDTO first = productService.updateProduct(created.getId(), product("Desk lamp"),
+                EntityTags.parse(EntityTags.of(created.getVersion())));
+        assertThat(first.getVersion()).isEqualTo(created.getVersion() + 1);
+        assertThat(productRepository.findById(created.getId()).orElseThrow().getVersion()).isEqualTo(first.getVersion());
+
+        ProductDTO second = productService.updateProduct(created.getId(), product("Floor lamp"),
+                EntityTags.parse(EntityTags.of(first.getVersion())));
+
+        assertThat(second.getName()).isEqualTo("Floor lamp");
+        assertThat(second.getVersion()).isEqualTo(first.getVersion() + 1);
+    }
+
+    @Test
+    void aStaleIfMatchIsRejected() {
+        ProductDTO created = productService.saveProduct(product("Lamp"));
+        productService.updateProduct(created.getId(), product("Desk lamp"), created.getVersion());
+
+        assertThatThrownBy(() -> productService.updateProduct(created.getId(), product("Floor lamp"),
+                EntityTags.parse(EntityTags.of(created.getVersion()))))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    private ProductDTO product(String name) {
+        return new ProductDTO(null, "LAMP", name, null, new BigDecimal("10.00"), 5, null);
+    }
+}
@@ -0,0 +1,185 @@
+package br.com.orderservice.service;
+
+import br.com.orderservice.cache.ProductCache;
+import br.com.orderservice.model.Order;
+import br.com.orderservice.model.OrderProduct;
+import br.com.orderservice.model.Product;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class StockReservationServiceTest {
+
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 50;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private StockReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:stock-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000");
+        dataSource.setMaximumPoolSize(THREADS);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE product (id BIGINT PRIMARY KEY, quantity INT NOT NULL, version BIGINT NOT NULL DEFAULT 0)");
+
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        service = new StockReservationService();
+        service.jdbcTemplate = jdbcTemplate;
+        service.productCache = mock(ProductCache.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        jdbcTemplate.update("INSERT INTO product (id, quantity) VALUES (1, 100), (2, 60)");
+
+        AtomicLong orderIds = new AtomicLong();
+        AtomicLong reservedOfProduct1 = new AtomicLong();
+        AtomicLong reservedOfProduct2 = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                        // Every other order needs both products, so partial reservations get released.
+                        long id = orderIds.incrementAndGet();
+                        Order order = id % 2 == 0
+                                ? order(id, Map.of(1L, 1, 2L, 2))
+                                : order(id, Map.of(1L, 2));
+
+                        Boolean reserved = transactionTemplate.execute(status -> service.reserve(order));
+                        if (Boolean.TRUE.equals(reserved)) {
+                            for (OrderProduct line : order.getProducts()) {
+                                (line.getProduct().getId() == 1L ? reservedOfProduct1 : reservedOfProduct2)
+                                        .addAndGet(line.getQuantity());
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int left1 = quantityOf(1L);
+        int left2 = quantityOf(2L);
+
+        assertThat(left1).isGreaterThanOrEqualTo(0);
+        assertThat(left2).isGreaterThanOrEqualTo(0);
+        assertThat(reservedOfProduct1.get()).isEqualTo(100 - left1);
+        assertThat(reservedOfProduct2.get()).isEqualTo(60 - left2);
+        // Demand far exceeds supply, so stock for the single-product orders must run out.
+        assertThat(left1).isLessThan(2);
+    }
+
+    @Test
+    void reservationFailsWithoutTouchingStockWhenOneProductIsShort() {
+        jdbcTemplate.update("INSERT INTO product (id, quantity) VALUES (1, 10), (2, 1)");
+
+        Set<Long> reserved = service.reserveAll(List.of(order(1L, Map.of(1L, 5, 2L, 2))));
+
+        assertThat(reserved).isEmpty();
+        assertThat(quantityOf(1L)).isEqualTo(10);
+        assertThat(quantityOf(2L)).isEqualTo(1);
+    }
+
+    @Test
+    void anOrderThatFallsShortDoesNotTakeStockFromTheRestOfTheBatch() {
+        jdbcTemplate.update("INSERT INTO product (id, quantity) VALUES (1, 5), (2, 0)");
+
+        Order needsBoth = order(1L, Map.of(1L, 5, 2L, 1));
+        Order needsFirst = order(2L, Map.of(1L, 5));
+
+        Set<Long> reserved = service.reserveAll(List.of(needsBoth, needsFirst));
+
+        assertThat(reserved).containsExactly(2L);
+        assertThat(quantityOf(1L)).isEqualTo(0);
+        assertThat(quantityOf(2L)).isEqualTo(0);
+    }
+
+    @Test
+    void batchReservesOrdersInRequestOrderUntilStockRunsOut() {
+        jdbcTemplate.update("INSERT INTO product (id, quantity) VALUES (1, 10), (2, 3)");
+
+        Set<Long> reserved = service.reserveAll(List.of(
+                order(1L, Map.of(1L, 4, 2L, 2)),
+                order(2L, Map.of(2L, 2)),
+                order(3L, Map.of(1L, 6)),
+                order(4L, Map.of(1L, 1)),
+                order(5L, Map.of(2L, 1))));
+
+        assertThat(reserved).containsExactlyInAnyOrder(1L, 3L, 5L);
+        assertThat(quantityOf(1L)).isEqualTo(0);
+        assertThat(quantityOf(2L)).isEqualTo(0);
+    }
+
+    @Test
+    void releaseGivesReservedStockBack() {
+        jdbcTemplate.update("INSERT INTO product (id, quantity) VALUES (1, 10), (2, 10)");
+        Order order = order(1L, Map.of(1L, 3, 2L, 4));
+
+        assertThat(service.reserve(order)).isTrue();
+        assertThat(quantityOf(1L)).isEqualTo(7);
+        assertThat(quantityOf(2L)).isEqualTo(6);
+
+        service.release(order);
+
+        assertThat(quantityOf(1L)).isEqualTo(10);
+        assertThat(quantityOf(2L)).isEqualTo(10);
+    }
+
+    private int quantityOf(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM product WHERE id = ?", Integer.class, productId);
+    }
+
+    private Order order(Long id, Map<Long, Integer> quantities) {
+        Order order = new Order();
+        order.setId(id);
+        quantities.forEach((productId, quantity) -> {
+            Product product = new Product();
+            product.setId(productId);
+
+            OrderProduct line = new OrderProduct();
+            line.setProduct(product);
+            line.setQuantity(quantity);
+            line.setOrder(order);
+            order.getProducts().add(line);
+        });
+        return order;
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.orderservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReaderTest {
+
+    @Test
+    void readsPlainRecordsAndTracksLineNumbers() throws IOException {
+        CsvReader reader = reader("sku,name\nA1,Apple\nB2,Banana\n");
+
+        assertThat(reader.readRecord()).containsExactly("sku", "name");
+        assertThat(reader.getLineNumber()).isEqualTo(1);
+        assertThat(reader.readRecord()).containsExactly("A1", "Apple");
+        assertThat(reader.readRecord()).containsExactly("B2", "Banana");
+        assertThat(reader.getLineNumber()).isEqualTo(3);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void readsTheLastRecordWithoutATrailingNewline() throws IOException {
+        CsvReader reader = reader("A1,Apple");
+
+        assertThat(reader.readRecord()).containsExactly("A1", "Apple");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(reader("").readRecord()).isNull();
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(reader("A1,,\n").readRecord()).containsExactly("A1", "", "");
+    }
+
+    @Test
+    void unquotesFieldsWithCommasAndEscapedQuotes() throws IOException {
+        CsvReader reader = reader("A1,\"Apple, red\",\"The \"\"best\"\" apple\"\n");
+
+        assertThat(reader.readRecord()).containsExactly("A1", "Apple, red", "The \"best\" apple");
+    }
+
+    @Test
+    void treatsCrlfAsARecordSeparator() throws IOException {
+        CsvReader reader = reader("sku,name\r\nA1,Apple\r\nB2,\"Banana\"\r\n");
+
+        assertThat(reader.readRecord()).containsExactly("sku", "name");
+        assertThat(reader.readRecord()).containsExactly("A1", "Apple");
+        assertThat(reader.readRecord()).containsExactly("B2", "Banana");
+        assertThat(reader.readRecord()).isNull();
+        assertThat(reader.getLineNumber()).isEqualTo(3);
+    }
+
+    @Test
+    void keepsNewlinesInsideQuotedFieldsAndCountsTheirLines() throws IOException {
+        CsvReader reader = reader("A1,\"first line\nsecond line\",5\nB2,Banana,3\n");
+
+        List<String> first = reader.readRecord();
+        assertThat(first).containsExactly("A1", "first line\nsecond line", "5");
+        assertThat(reader.getLineNumber()).isEqualTo(2);
+
+        assertThat(reader.readRecord()).containsExactly("B2", "Banana", "3");
+        assertThat(reader.getLineNumber()).isEqualTo(3);
+    }
+
+    @Test
+    void keepsCrlfInsideQuotedFields() throws IOException {
+        CsvReader reader = reader("A1,\"one\r\ntwo\"\r\n");
+
+        assertThat(reader.readRecord()).containsExactly("A1", "one\r\ntwo");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void quoteClosingTheLastFieldAtEndOfInput() throws IOException {
+        assertThat(reader("A1,\"Apple\"").readRecord()).containsExactly("A1", "Apple");
+    }
+
+    private CsvReader reader(String content) {
+        return new CsvReader(new StringReader(content));
+    }
+}